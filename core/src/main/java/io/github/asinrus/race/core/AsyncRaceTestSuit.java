@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.ComplexExecutionResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class represents a test suite for a race of asynchronous operations. Every operation is started by its
+ * supplier at the start gate, then the operations run without occupying a thread each: the launcher threads only
+ * invoke the suppliers. A launcher invokes its suppliers one after another, so with fewer launchers than operations
+ * the operations are not started at the same time; the spread of the starts is shown by
+ * {@link io.github.asinrus.race.core.domain.result.TaskExecutionResult#startedNanos()}.
+ */
+public class AsyncRaceTestSuit<K, T> implements RaceTestSuit {
+    private final Configuration configuration;
+    private final Consumer<ComplexExecutionResult<K, T>> assertion;
+    private final Map<K, Supplier<CompletionStage<T>>> suppliers;
+
+    /**
+     * Constructs a new AsyncRaceTestSuit with the given configuration, assertion, and suppliers.
+     * The number of threads of the configuration is the number of launcher threads which invoke the suppliers,
+     * not more than the number of suppliers.
+     *
+     * @param configuration the configuration to use for this test suit
+     * @param assertion     the assertion to use for validating the results of the operations
+     * @param suppliers     the suppliers which start the operations
+     */
+    public AsyncRaceTestSuit(Configuration configuration,
+                             Consumer<ComplexExecutionResult<K, T>> assertion,
+                             Map<K, Supplier<CompletionStage<T>>> suppliers) {
+        this.configuration = configuration.toBuilder()
+                .setNumThreads(Math.max(1, Math.min(configuration.numThreads(), suppliers.size())))
+                .build();
+        this.assertion = assertion;
+        this.suppliers = suppliers;
+    }
+
+    /**
+     * Starts the operations at the start gate and validates their results using the assertion.
+     */
+    @Override
+    public void go() {
+        Deadline deadline = Deadline.after(configuration.timeout());
+        Barrier barrier = new Barrier(configuration);
+        CompletionStageCollector<K, T> collector = new CompletionStageCollector<>(suppliers.size());
+        RaceEngine engine = configuration.executionEngine();
+        ExecutorService launchers = engine.newExecutor(configuration.numThreads());
+        List<Future<?>> launches = new ArrayList<>();
+        try {
+            for (List<Map.Entry<K, Supplier<CompletionStage<T>>>> share : shares()) {
+                long queuedNanos = System.nanoTime();
+                launches.add(launchers.submit(() -> launch(share, barrier, collector, queuedNanos)));
+            }
+            try {
+                barrier.awaitAllAchieved(deadline);
+            } catch (Barrier.BarrierException e) {
+                launches.forEach(launch -> launch.cancel(true));
+                throw e;
+            }
+            barrier.release();
+            collector.awaitAll(deadline);
+        } finally {
+            engine.shutdown(launchers);
+        }
+
+        var complexExecutionResult = collector.toComplexExecutionResult();
+        complexExecutionResult.setStartSkewNanos(barrier.startSkewNanos());
+        complexExecutionResult.setEngine(engine.name());
+        assertion.accept(complexExecutionResult);
+    }
+
+    private List<List<Map.Entry<K, Supplier<CompletionStage<T>>>>> shares() {
+        List<List<Map.Entry<K, Supplier<CompletionStage<T>>>>> shares = new ArrayList<>();
+        for (int i = 0; i < configuration.numThreads(); i++) {
+            shares.add(new ArrayList<>());
+        }
+        int next = 0;
+        for (var supplier : suppliers.entrySet()) {
+            shares.get(next++ % shares.size()).add(supplier);
+        }
+        return shares;
+    }
+
+    private static <K, T> void launch(List<Map.Entry<K, Supplier<CompletionStage<T>>>> share, Barrier barrier,
+                                      CompletionStageCollector<K, T> collector, long queuedNanos) {
+        long releasedNanos = barrier.arriveAndAwaitRelease();
+        for (var supplier : share) {
+            long startedNanos = System.nanoTime();
+            try {
+                collector.watch(supplier.getKey(), supplier.getValue().get(), queuedNanos, releasedNanos, startedNanos);
+            } catch (RuntimeException e) {
+                collector.fail(supplier.getKey(), e, queuedNanos, releasedNanos, startedNanos);
+            }
+        }
+    }
+
+    /**
+     * This class represents a builder for creating an AsyncRaceTestSuit.
+     */
+    public static class AsyncRaceTestSuitBuilder<K, T> {
+        private Configuration configuration = Configuration.defaultConfiguration();
+        private Consumer<ComplexExecutionResult<K, T>> assertion = (result) -> {
+        };
+        private final Map<K, Supplier<CompletionStage<T>>> suppliers;
+        private Integer launchers;
+
+        public AsyncRaceTestSuitBuilder(Map<K, Supplier<CompletionStage<T>>> suppliers) {
+            this.suppliers = suppliers;
+        }
+
+        /**
+         * @param configuration - configuration of execution - timeout, gate mode, engine. The number of launcher
+         *                      threads is set by {@link #withLaunchers(int)}
+         * @return link to builder
+         */
+        public AsyncRaceTestSuitBuilder<K, T> withConfiguration(Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        public AsyncRaceTestSuitBuilder<K, T> withTimeout(Duration timeout) {
+            this.configuration = configuration.toBuilder()
+                    .setTimeout(timeout)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param launchers - how many threads invoke the suppliers at the start gate, one per operation by default.
+         *                  A launcher invokes its suppliers one after another, so fewer launchers spread the starts
+         *                  of the operations
+         * @return link to builder
+         */
+        public AsyncRaceTestSuitBuilder<K, T> withLaunchers(int launchers) {
+            if (launchers < 1) {
+                throw new IllegalArgumentException("Count of launchers must be positive, but was " + launchers);
+            }
+            this.launchers = launchers;
+            return this;
+        }
+
+        public AsyncRaceTestSuitBuilder<K, T> withAssertion(Consumer<ComplexExecutionResult<K, T>> assertion) {
+            this.assertion = assertion;
+            return this;
+        }
+
+        public AsyncRaceTestSuit<K, T> go() {
+            Configuration launchersConfiguration = configuration.toBuilder()
+                    .setNumThreads(launchers == null ? suppliers.size() : launchers)
+                    .build();
+            AsyncRaceTestSuit<K, T> testSuit = new AsyncRaceTestSuit<>(launchersConfiguration, assertion, suppliers);
+            testSuit.go();
+            return testSuit;
+        }
+    }
+}
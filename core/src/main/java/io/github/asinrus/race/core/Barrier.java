@@ -15,12 +15,24 @@ package io.github.asinrus.race.core;
 import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
 
 /**
- * This class represents a synchronization aid that allows one or more threads to wait until a set of operations being performed in other threads completes.
+ * This class represents the start gate of a race. Every racer arrives at the gate and waits there until all racers
+ * have arrived and the gate is opened, so the racers start their tasks at the same time.
  */
 public class Barrier {
+    private static final long SPIN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int parties;
+    private final GateMode gateMode;
     private final CountDownLatch countDownLatch;
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final AtomicInteger spinning = new AtomicInteger();
+    private final LongAccumulator firstPassed = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator lastPassed = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private volatile boolean open;
 
     /**
      * Constructs a new Barrier with the given configuration.
@@ -28,25 +40,67 @@ public class Barrier {
      * @param configuration the configuration to use for this barrier
      */
     public Barrier(Configuration configuration) {
-        countDownLatch = new CountDownLatch(configuration.numThreads());
+        parties = configuration.numThreads();
+        gateMode = configuration.gateMode();
+        countDownLatch = new CountDownLatch(parties);
     }
 
     /**
-     * Decrements the count of the latch, signaling that one more thread has completed its task.
+     * Decrements the count of the latch, signaling that one more racer has arrived at the gate.
+     * The racer does not wait for the gate to be opened.
      */
     public void latch() {
         countDownLatch.countDown();
     }
 
     /**
-     * Causes the current thread to wait until the latch has counted down to zero, unless the thread is interrupted, or the specified waiting time elapses.
+     * Signals that the current racer has arrived at the gate and waits until the gate is opened.
      *
-     * @param duration the maximum time to wait
+     * @return the {@link System#nanoTime()} at which the racer passed the gate
      * @throws BarrierException if the current thread is interrupted while waiting
      */
+    public long arriveAndAwaitRelease() {
+        countDownLatch.countDown();
+        try {
+            if (gateMode == GateMode.SPIN_THEN_PARK) {
+                countDownLatch.await();
+                spinning.incrementAndGet();
+                spin();
+            }
+            if (!open) {
+                gate.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BarrierException(e);
+        }
+        long passedNanos = System.nanoTime();
+        firstPassed.accumulate(passedNanos);
+        lastPassed.accumulate(passedNanos);
+        return passedNanos;
+    }
+
+    /**
+     * Causes the current thread to wait until all racers have arrived at the gate, unless the thread is interrupted,
+     * or the specified waiting time elapses.
+     *
+     * @param duration the maximum time to wait
+     * @throws BarrierException if the current thread is interrupted while waiting or the waiting time elapses
+     */
     public void awaitAllAchieved(Duration duration) {
+        awaitAllAchieved(Deadline.after(duration));
+    }
+
+    /**
+     * Causes the current thread to wait until all racers have arrived at the gate, unless the thread is interrupted,
+     * or the deadline expires.
+     *
+     * @param deadline the deadline of the race round
+     * @throws BarrierException if the current thread is interrupted while waiting or the deadline expires
+     */
+    public void awaitAllAchieved(Deadline deadline) {
         try {
-            boolean isAllAchieved = countDownLatch.await(duration.toSeconds(), TimeUnit.SECONDS);
+            boolean isAllAchieved = countDownLatch.await(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
             if (!isAllAchieved) {
                 throw new BarrierException("Timeout error");
             }
@@ -55,6 +109,48 @@ public class Barrier {
         }
     }
 
+    /**
+     * Returns the number of racers which have not arrived at the gate yet.
+     *
+     * @return the number of racers the gate is still waiting for
+     */
+    public int awaitedParties() {
+        return (int) countDownLatch.getCount();
+    }
+
+    /**
+     * Opens the gate and lets all waiting racers start. In {@link GateMode#SPIN_THEN_PARK} mode the gate is opened
+     * once every racer is spinning on it, or once the spin budget is over.
+     */
+    public void release() {
+        if (gateMode == GateMode.SPIN_THEN_PARK) {
+            long spinUntil = System.nanoTime() + SPIN_NANOS;
+            while (spinning.get() < parties && System.nanoTime() - spinUntil < 0) {
+                Thread.onSpinWait();
+            }
+        }
+        open = true;
+        gate.countDown();
+    }
+
+    /**
+     * Returns the start skew of the race - the time between the first and the last racer passing the gate.
+     *
+     * @return the start skew in nanoseconds, or 0 if fewer than two racers have passed the gate
+     */
+    public long startSkewNanos() {
+        long first = firstPassed.get();
+        long last = lastPassed.get();
+        return first <= last ? last - first : 0;
+    }
+
+    private void spin() {
+        long spinUntil = System.nanoTime() + SPIN_NANOS;
+        while (!open && System.nanoTime() - spinUntil < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
     /**
      * This class represents an exception that can be thrown when a barrier operation fails.
      */
@@ -76,5 +172,14 @@ public class Barrier {
         public BarrierException(String message) {
             super(message);
         }
+
+        /**
+         * Returns the phase of the race round which failed.
+         *
+         * @return the phase of the race round which failed
+         */
+        public RacePhase phase() {
+            return RacePhase.GATE;
+        }
     }
-}
\ No newline at end of file
+}
@@ -13,22 +13,41 @@
 package io.github.asinrus.race.core;
 
 import io.github.asinrus.race.core.domain.result.ComplexExecutionResult;
-import io.github.asinrus.race.core.domain.result.ComplexExecutionResultImpl;
+import io.github.asinrus.race.core.domain.result.IndexedExecutionResult;
 import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
+import io.github.asinrus.race.core.jfr.GateReleaseEvent;
+import io.github.asinrus.race.core.jfr.RaceEvents;
+import io.github.asinrus.race.core.jfr.RaceStartEvent;
+import io.github.asinrus.race.core.jfr.RaceTimeoutEvent;
+import io.github.asinrus.race.core.jfr.RacerCancellationEvent;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
 
 /**
- * This class represents an executor that can execute multiple tasks concurrently.
+ * This class represents an executor that can execute multiple tasks concurrently on the {@link RaceEngine} of the
+ * configuration. The threads of the engine are kept alive between race rounds until the executor is closed.
  */
-public class BoundRaceExecutorImpl<K, T> {
+public class BoundRaceExecutorImpl<K, T> implements AutoCloseable {
+    private static final long TEARDOWN_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
     private final Configuration configuration;
+    private final RaceEngine engine;
+    private ExecutorService executors;
+    private boolean isMonitoringContention;
 
     /**
      * Constructs a new BoundRaceExecutorImpl with the given configuration.
@@ -37,60 +56,414 @@ public class BoundRaceExecutorImpl<K, T> {
      */
     public BoundRaceExecutorImpl(Configuration configuration) {
         this.configuration = configuration;
+        this.engine = configuration.executionEngine();
+    }
+
+    /**
+     * Executes the given tasks concurrently in a single race round, shuts the executor down and returns
+     * a ComplexExecutionResult that contains the results of the tasks.
+     *
+     * @param namedTasks the tasks to execute
+     * @param barrier    the barrier to use for synchronization
+     * @return a ComplexExecutionResult that contains the results of the tasks
+     */
+    public ComplexExecutionResult<K, T> execute(Map<K, GatedTask<T>> namedTasks, Barrier barrier) {
+        return execute(namedTasks, barrier, Deadline.after(configuration.timeout()));
     }
 
     /**
-     * Executes the given tasks concurrently and returns a ComplexExecutionResult that contains the results of the tasks.
+     * Executes the given tasks concurrently in a single race round which must be over by the given deadline, shuts
+     * the executor down and returns a ComplexExecutionResult that contains the results of the tasks.
      *
      * @param namedTasks the tasks to execute
      * @param barrier    the barrier to use for synchronization
+     * @param deadline   the deadline of the round, the one the checkpoints of the tasks are bound to
+     * @return a ComplexExecutionResult that contains the results of the tasks
+     */
+    public ComplexExecutionResult<K, T> execute(Map<K, GatedTask<T>> namedTasks, Barrier barrier,
+                                                Deadline deadline) {
+        try {
+            return executeRound(namedTasks, barrier, deadline, 0, (key, result) -> {
+            });
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Executes the given tasks concurrently in one race round and returns a ComplexExecutionResult that contains
+     * the results of the tasks. The threads are kept alive for the next round.
+     *
+     * @param namedTasks the tasks to execute, every task must wait at the given barrier
+     * @param barrier    the barrier to use for synchronization, a new one for every round
      * @return a ComplexExecutionResult that contains the results of the tasks
      */
-    public ComplexExecutionResult<K, T> execute(Map<K, Callable<T>> namedTasks, Barrier barrier) {
-        ExecutorService executors = Executors.newFixedThreadPool(configuration.numThreads());
-        Map<K, Future<T>> futureMap = new HashMap<>();
-        namedTasks.forEach((key, call) -> {
-            Future<T> future = executors.submit(call);
-            futureMap.put(key, future);
+    public ComplexExecutionResult<K, T> executeRound(Map<K, GatedTask<T>> namedTasks, Barrier barrier) {
+        return executeRound(namedTasks, barrier, (key, result) -> {
         });
+    }
 
-        barrierShouldBeAchieved(barrier);
-        terminateExecutor(executors);
+    /**
+     * Executes the given tasks concurrently in one race round and returns a ComplexExecutionResult that contains
+     * the results of the tasks. The threads are kept alive for the next round.
+     * The callback gets the result of every task as soon as the task is completed, in the order of completion.
+     * Tasks cancelled by the cancellation policy are added to the result without calling the callback.
+     * If the callback throws, the remaining tasks are cancelled and the exception is rethrown.
+     *
+     * @param namedTasks the tasks to execute, every task must wait at the given barrier
+     * @param barrier    the barrier to use for synchronization, a new one for every round
+     * @param onComplete the callback to call on the coordinating thread for every completed task
+     * @return a ComplexExecutionResult that contains the results of the tasks
+     */
+    public ComplexExecutionResult<K, T> executeRound(Map<K, GatedTask<T>> namedTasks, Barrier barrier,
+                                                     BiConsumer<K, TaskExecutionResult<T>> onComplete) {
+        return executeRound(namedTasks, barrier, 0, onComplete);
+    }
 
-        return getComplexExecutionResult(futureMap);
+    /**
+     * Executes the given tasks concurrently in one race round and returns a ComplexExecutionResult that contains
+     * the results of the tasks. The threads are kept alive for the next round.
+     * The callback gets the result of every task as soon as the task is completed, in the order of completion.
+     * Tasks cancelled by the cancellation policy are added to the result without calling the callback.
+     * If the callback throws, the remaining tasks are cancelled and the exception is rethrown.
+     *
+     * @param namedTasks   the tasks to execute, every task must wait at the given barrier
+     * @param barrier      the barrier to use for synchronization, a new one for every round
+     * @param scheduleSeed the seed of the delay schedule of the round, which is reported in the result
+     * @param onComplete   the callback to call on the coordinating thread for every completed task
+     * @return a ComplexExecutionResult that contains the results of the tasks
+     */
+    public IndexedExecutionResult<K, T> executeRound(Map<K, GatedTask<T>> namedTasks, Barrier barrier,
+                                                     long scheduleSeed,
+                                                     BiConsumer<K, TaskExecutionResult<T>> onComplete) {
+        return executeRound(namedTasks, barrier, Deadline.after(configuration.timeout()), scheduleSeed, onComplete);
     }
 
-    private void barrierShouldBeAchieved(Barrier barrier) {
-        barrier.awaitAllAchieved(configuration.timeout());
+    /**
+     * Executes the given tasks concurrently in one race round which must be over by the given deadline and returns
+     * a ComplexExecutionResult that contains the results of the tasks. The threads are kept alive for the next round.
+     * The callback gets the result of every task as soon as the task is completed, in the order of completion.
+     * Tasks cancelled by the cancellation policy are added to the result without calling the callback.
+     * If the callback throws, the remaining tasks are cancelled and the exception is rethrown.
+     *
+     * @param namedTasks   the tasks to execute, every task must wait at the given barrier
+     * @param barrier      the barrier to use for synchronization, a new one for every round
+     * @param deadline     the deadline of the round, the one the checkpoints of the tasks are bound to
+     * @param scheduleSeed the seed of the delay schedule of the round, which is reported in the result
+     * @param onComplete   the callback to call on the coordinating thread for every completed task
+     * @return a ComplexExecutionResult that contains the results of the tasks
+     */
+    public IndexedExecutionResult<K, T> executeRound(Map<K, GatedTask<T>> namedTasks, Barrier barrier,
+                                                     Deadline deadline, long scheduleSeed,
+                                                     BiConsumer<K, TaskExecutionResult<T>> onComplete) {
+        List<K> keys = new ArrayList<>(namedTasks.keySet());
+        var complexExecutionResult = new IndexedExecutionResult<K, T>(keys);
+        String[] unresponsiveThreads = race(new ArrayList<>(namedTasks.values()), barrier, deadline, scheduleSeed,
+                keys::get, (taskResult, index) -> {
+                    complexExecutionResult.addResult(index, taskResult);
+                    if (!taskResult.isCancelled()) {
+                        onComplete.accept(keys.get(index), taskResult);
+                    }
+                });
+        complexExecutionResult.setStartSkewNanos(barrier.startSkewNanos());
+        complexExecutionResult.setEngine(engine.name());
+        complexExecutionResult.setUnresponsiveThreads(byIndex(unresponsiveThreads, keys::get));
+        complexExecutionResult.setScheduleSeed(scheduleSeed);
+        return complexExecutionResult;
     }
 
-    private void terminateExecutor(ExecutorService executors) {
+    /**
+     * Executes the given tasks concurrently in one race round without keeping their results, so the memory of
+     * a round does not grow with anything but the list of tasks. The threads are kept alive for the next round.
+     * The callback gets the result and the index of every task as soon as the task is completed, in the order of
+     * completion, and the results of the tasks cancelled by the cancellation policy at the end of the round.
+     * If the callback throws, the remaining tasks are cancelled and the exception is rethrown.
+     *
+     * @param tasks        the tasks to execute, every task must wait at the given barrier
+     * @param barrier      the barrier to use for synchronization, a new one for every round
+     * @param deadline     the deadline of the round, the one the checkpoints of the tasks are bound to
+     * @param scheduleSeed the seed of the delay schedule of the round
+     * @param onComplete   the callback to call on the coordinating thread for every task with its index
+     * @return the names of the threads which ignored the interrupt by the indexes of their tasks
+     */
+    public Map<Integer, String> executeRound(List<GatedTask<T>> tasks, Barrier barrier, Deadline deadline,
+                                             long scheduleSeed, ObjIntConsumer<TaskExecutionResult<T>> onComplete) {
+        return executeRound(tasks, barrier, deadline, scheduleSeed, Integer::valueOf, onComplete);
+    }
+
+    /**
+     * Executes the given tasks concurrently in one race round without keeping their results, like
+     * {@link #executeRound(List, Barrier, Deadline, long, ObjIntConsumer)}, and reports the racers cancelled at
+     * the end of the round to the flight recorder by the keys the indexes of their tasks are mapped to.
+     *
+     * @param tasks        the tasks to execute, every task must wait at the given barrier
+     * @param barrier      the barrier to use for synchronization, a new one for every round
+     * @param deadline     the deadline of the round, the one the checkpoints of the tasks are bound to
+     * @param scheduleSeed the seed of the delay schedule of the round
+     * @param keyOf        the key of the racer of the task with the given index
+     * @param onComplete   the callback to call on the coordinating thread for every task with its index
+     * @return the names of the threads which ignored the interrupt by the indexes of their tasks
+     */
+    public Map<Integer, String> executeRound(List<GatedTask<T>> tasks, Barrier barrier, Deadline deadline,
+                                             long scheduleSeed, IntFunction<?> keyOf,
+                                             ObjIntConsumer<TaskExecutionResult<T>> onComplete) {
+        return byIndex(race(tasks, barrier, deadline, scheduleSeed, keyOf, onComplete), Integer::valueOf);
+    }
+
+    private String[] race(List<GatedTask<T>> tasks, Barrier barrier, Deadline deadline, long scheduleSeed,
+                          IntFunction<?> keyOf, ObjIntConsumer<TaskExecutionResult<T>> onResult) {
+        GateReleaseEvent gateReleaseEvent = null;
+        if (RaceEvents.isAvailable()) {
+            new RaceStartEvent().commit(tasks.size(), engine.name(), configuration.gateMode().name(), scheduleSeed);
+            gateReleaseEvent = new GateReleaseEvent();
+            gateReleaseEvent.begin();
+        }
+        BlockingQueue<RacerFuture<T>> completed = new LinkedBlockingQueue<>();
+        List<RacerFuture<T>> futures = new ArrayList<>(tasks.size());
+        ExecutorService executor = executors();
+        if (configuration.isThreadUsageEnabled() && !isMonitoringContention) {
+            ThreadUsageProbe.acquireContentionMonitoring();
+            isMonitoringContention = true;
+        }
+        for (int index = 0; index < tasks.size(); index++) {
+            GatedTask<T> task = tasks.get(index);
+            if (configuration.isThreadUsageEnabled()) {
+                task.measureThreadUsage();
+            }
+            task.markQueued();
+            RacerFuture<T> future = new RacerFuture<>(task, index, completed);
+            futures.add(future);
+            executor.execute(future);
+        }
+
+        barrierShouldBeAchieved(barrier, futures, deadline);
+        barrier.release();
+        if (gateReleaseEvent != null) {
+            gateReleaseEvent.commit(tasks.size());
+        }
+
+        @SuppressWarnings("unchecked")
+        TaskExecutionResult<T>[] results = (TaskExecutionResult<T>[]) new TaskExecutionResult<?>[tasks.size()];
+        boolean isCompleted;
         try {
-            executors.shutdown();
-            boolean isTerminated = executors.awaitTermination(configuration.timeout().toSeconds(), TimeUnit.SECONDS);
-            if (!isTerminated) {
-                throw new ExecutionException("Time out running out, but not all tasks was finished");
+            isCompleted = awaitCompletion(tasks, completed, deadline, results, onResult);
+        } catch (RuntimeException | Error e) {
+            cancelRemaining(futures, tasks, keyOf);
+            throw e;
+        }
+        if (!isCompleted && RaceEvents.isAvailable()) {
+            new RaceTimeoutEvent().commit(RacePhase.EXECUTION.name(), configuration.timeout().toNanos(),
+                    (int) futures.stream().filter(future -> !future.isDone()).count());
+        }
+        String[] unresponsiveThreads = cancelRemaining(futures, tasks, keyOf);
+        if (!isCompleted && configuration.cancellationPolicy() == CancellationPolicy.WAIT_ALL) {
+            throw new ExecutionException("Time out running out, but not all tasks was finished", RacePhase.EXECUTION);
+        }
+
+        for (int index = 0; index < tasks.size(); index++) {
+            if (results[index] == null) {
+                report(index, futures.get(index), tasks, results, onResult);
             }
-        } catch (InterruptedException e) {
-            throw new ExecutionException(e);
         }
+        awaitTeardowns(tasks, deadline);
+        for (int index = 0; index < tasks.size(); index++) {
+            GatedTask<T> task = tasks.get(index);
+            results[index].setTeardown(task.teardownNanos(), task.teardownError());
+        }
+        return unresponsiveThreads;
     }
 
-    private static <K, T> ComplexExecutionResult<K, T> getComplexExecutionResult(Map<K, Future<T>> futureMap) {
-        var complexExecutionResult = new ComplexExecutionResultImpl<K, T>();
+    /**
+     * Releases the threads of the engine and the thread contention monitoring, if the executor turned it on.
+     */
+    @Override
+    public void close() {
+        if (executors != null) {
+            engine.shutdown(executors);
+            executors = null;
+        }
+        if (isMonitoringContention) {
+            ThreadUsageProbe.releaseContentionMonitoring();
+            isMonitoringContention = false;
+        }
+    }
 
-        for (var namedFuture : futureMap.entrySet()) {
-            var future = namedFuture.getValue();
-            var key = namedFuture.getKey();
-            complexExecutionResult.addResult(key, TaskExecutionResult.formExecutionResult(future));
+    private ExecutorService executors() {
+        if (executors == null) {
+            executors = engine.newExecutor(configuration.numThreads());
+        }
+        return executors;
+    }
+
+    private void barrierShouldBeAchieved(Barrier barrier, List<RacerFuture<T>> futures, Deadline deadline) {
+        try {
+            barrier.awaitAllAchieved(deadline);
+        } catch (Barrier.BarrierException e) {
+            if (deadline.isExpired() && RaceEvents.isAvailable()) {
+                new RaceTimeoutEvent().commit(RacePhase.GATE.name(), configuration.timeout().toNanos(),
+                        barrier.awaitedParties());
+            }
+            futures.forEach(future -> future.cancel(true));
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until every task is completed, or until the cancellation policy stops the round.
+     *
+     * @return false if the deadline expired before the tasks were completed
+     */
+    private boolean awaitCompletion(List<GatedTask<T>> tasks, BlockingQueue<RacerFuture<T>> completed,
+                                    Deadline deadline, TaskExecutionResult<T>[] results,
+                                    ObjIntConsumer<TaskExecutionResult<T>> onResult) {
+        for (int count = 0; count < tasks.size(); count++) {
+            RacerFuture<T> future;
+            try {
+                future = completed.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionException(e);
+            }
+            if (future == null) {
+                return false;
+            }
+            var taskResult = report(future.index, future, tasks, results, onResult);
+            if (configuration.cancellationPolicy() == CancellationPolicy.CANCEL_ON_FIRST_ERROR
+                    && taskResult.isHasError()) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private static <T> TaskExecutionResult<T> report(int index, Future<T> future, List<GatedTask<T>> tasks,
+                                                     TaskExecutionResult<T>[] results,
+                                                     ObjIntConsumer<TaskExecutionResult<T>> onResult) {
+        var taskResult = TaskExecutionResult.formExecutionResult(future, tasks.get(index));
+        results[index] = taskResult;
+        onResult.accept(taskResult, index);
+        return taskResult;
+    }
+
+    /**
+     * Cancels the tasks which are not completed yet and gives them the grace period to stop.
+     * The threads of the executor are not reused if any of them ignores the interrupt.
+     *
+     * @return the names of the threads which ignored the interrupt by the indexes of their tasks,
+     * or null if every cancelled task stopped
+     */
+    private String[] cancelRemaining(List<RacerFuture<T>> futures, List<GatedTask<T>> tasks, IntFunction<?> keyOf) {
+        List<RacerFuture<T>> cancelled = new ArrayList<>();
+        for (RacerFuture<T> future : futures) {
+            if (future.cancel(true)) {
+                cancelled.add(future);
+            }
+        }
+        if (cancelled.isEmpty()) {
+            return null;
+        }
+        List<RacerCancellationEvent> cancellationEvents = null;
+        if (RaceEvents.isAvailable()) {
+            cancellationEvents = new ArrayList<>(cancelled.size());
+            for (int i = 0; i < cancelled.size(); i++) {
+                RacerCancellationEvent event = new RacerCancellationEvent();
+                event.begin();
+                cancellationEvents.add(event);
+            }
+        }
+
+        Deadline gracePeriod = Deadline.after(configuration.cancellationGracePeriod());
+        while (!gracePeriod.isExpired()
+                && cancelled.stream().anyMatch(future -> tasks.get(future.index).isRunning())) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        String[] unresponsiveThreads = null;
+        for (int i = 0; i < cancelled.size(); i++) {
+            int index = cancelled.get(i).index;
+            String runnerName = tasks.get(index).runnerName();
+            if (runnerName != null) {
+                if (unresponsiveThreads == null) {
+                    unresponsiveThreads = new String[tasks.size()];
+                }
+                unresponsiveThreads[index] = runnerName;
+            }
+            if (cancellationEvents != null) {
+                cancellationEvents.get(i).commit(keyOf.apply(index), configuration.cancellationPolicy().name(),
+                        runnerName);
+            }
+        }
+        if (unresponsiveThreads != null) {
+            close();
+        }
+        return unresponsiveThreads;
+    }
+
+    /**
+     * Waits until the racers have finished their teardowns, which run after the tasks are completed. The teardowns
+     * of a round which ran out of time get the cancellation grace period.
+     */
+    private void awaitTeardowns(List<GatedTask<T>> tasks, Deadline deadline) {
+        Deadline teardownDeadline = deadline.isExpired()
+                ? Deadline.after(configuration.cancellationGracePeriod())
+                : deadline;
+        for (GatedTask<T> task : tasks) {
+            while (task.isTearingDown() && !teardownDeadline.isExpired()) {
+                LockSupport.parkNanos(TEARDOWN_POLL_NANOS);
+            }
+        }
+    }
+
+    private static <K> Map<K, String> byIndex(String[] names, IntFunction<K> keyOf) {
+        if (names == null) {
+            return Map.of();
+        }
+        Map<K, String> byKey = new HashMap<>();
+        for (int index = 0; index < names.length; index++) {
+            if (names[index] != null) {
+                byKey.put(keyOf.apply(index), names[index]);
+            }
+        }
+        return Collections.unmodifiableMap(byKey);
+    }
+
+    /**
+     * The future of a racer which knows the index of its task and puts itself into the queue of completed racers
+     * when it is done, so the completed racers are taken in the order of completion without a map of futures.
+     * The teardown of the racer runs once the future is done, so it does not change the outcome of the racer nor
+     * its place in the order of completion.
+     */
+    private static final class RacerFuture<T> extends FutureTask<T> {
+        private final GatedTask<T> task;
+        private final int index;
+        private final BlockingQueue<RacerFuture<T>> completed;
+
+        private RacerFuture(GatedTask<T> task, int index, BlockingQueue<RacerFuture<T>> completed) {
+            super(task);
+            this.task = task;
+            this.index = index;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            super.run();
+            task.runTeardown();
+        }
+
+        @Override
+        protected void done() {
+            completed.add(this);
         }
-        return complexExecutionResult;
     }
 
     /**
      * This class represents an exception that can be thrown when an execution operation fails.
      */
     public static class ExecutionException extends RuntimeException {
+        private final RacePhase phase;
+
         /**
          * Constructs a new ExecutionException with the specified cause.
          *
@@ -98,6 +471,7 @@ public class BoundRaceExecutorImpl<K, T> {
          */
         public ExecutionException(InterruptedException exception) {
             super(exception);
+            this.phase = null;
         }
 
         /**
@@ -106,7 +480,27 @@ public class BoundRaceExecutorImpl<K, T> {
          * @param message the detail message
          */
         public ExecutionException(String message) {
+            this(message, null);
+        }
+
+        /**
+         * Constructs a new ExecutionException with the specified detail message and the phase which ran out of time.
+         *
+         * @param message the detail message
+         * @param phase   the phase of the race round which ran out of time
+         */
+        public ExecutionException(String message, RacePhase phase) {
             super(message);
+            this.phase = phase;
+        }
+
+        /**
+         * Returns the phase of the race round which ran out of time.
+         *
+         * @return the phase of the race round which ran out of time, or null if the race did not run out of time
+         */
+        public RacePhase phase() {
+            return phase;
         }
     }
 }
\ No newline at end of file
@@ -13,22 +13,48 @@
 package io.github.asinrus.race.core;
 
 import io.github.asinrus.race.core.domain.result.ComplexExecutionResult;
+import io.github.asinrus.race.core.domain.result.IndexedExecutionResult;
+import io.github.asinrus.race.core.domain.result.OutcomeDistribution;
+import io.github.asinrus.race.core.domain.result.OutcomeSignature;
+import io.github.asinrus.race.core.domain.result.RaceStatistics;
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
 
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * This class represents a test suite for concurrent execution of tasks.
  */
 public class BoundRaceTestSuit<K, T> implements RaceTestSuit {
 
-    private final Duration timeout;
+    private final Configuration configuration;
     private final Consumer<ComplexExecutionResult<K, T>> assertion;
+    private final Consumer<List<ComplexExecutionResult<K, T>>> aggregateAssertion;
+    private final Consumer<RaceStatistics<T>> statisticsAssertion;
+    private final Function<ComplexExecutionResult<K, T>, ?> outcomeClassifier;
+    private final Consumer<OutcomeDistribution<K>> distributionAssertion;
+    private final Predicate<ComplexExecutionResult<K, T>> stopPredicate;
+    private final int noNewOutcomeRounds;
+    private final BiConsumer<K, TaskExecutionResult<T>> completionCallback;
+    private final RacerHook setup;
+    private final RacerHook teardown;
     private final Map<K, Callable<T>> tasks;
+    private final List<K> keys;
+    private int rounds;
+    private StopReason stopReason;
+    private int warmupRounds;
+    private long warmupNanos;
 
     /**
      * Constructs a new BoundRaceTestSuit with the given duration, assertion, and tasks.
@@ -39,43 +65,217 @@ public class BoundRaceTestSuit<K, T> implements RaceTestSuit {
      */
     public BoundRaceTestSuit(Duration duration,
                              Consumer<ComplexExecutionResult<K, T>> assertion, Map<K, Callable<T>> tasks) {
-        this.timeout = duration;
-        this.assertion = assertion;
-        this.tasks = tasks;
+        this(Configuration.builder().setTimeout(duration).build(), assertion, tasks);
+    }
+
+    /**
+     * Constructs a new BoundRaceTestSuit with the given configuration, assertion, and tasks.
+     * The number of threads is always taken from the number of tasks.
+     *
+     * @param configuration the configuration to use for this test suit
+     * @param assertion     the assertion to use for validating the results of the tasks
+     * @param tasks         the tasks to execute
+     */
+    public BoundRaceTestSuit(Configuration configuration,
+                             Consumer<ComplexExecutionResult<K, T>> assertion, Map<K, Callable<T>> tasks) {
+        this(new BoundRaceTestSuitBuilder<>(tasks)
+                .withConfiguration(configuration)
+                .withAssertion(assertion));
+    }
+
+    private BoundRaceTestSuit(BoundRaceTestSuitBuilder<K, T> builder) {
+        this.configuration = builder.configuration.toBuilder()
+                .setNumThreads(builder.task.size())
+                .build();
+        this.assertion = builder.assertion;
+        this.aggregateAssertion = builder.aggregateAssertion;
+        this.statisticsAssertion = builder.statisticsAssertion;
+        this.outcomeClassifier = builder.outcomeClassifier;
+        this.distributionAssertion = builder.distributionAssertion;
+        this.stopPredicate = builder.stopPredicate;
+        this.noNewOutcomeRounds = builder.noNewOutcomeRounds;
+        this.completionCallback = builder.completionCallback.andThen(builder.incrementalAssertion);
+        this.setup = builder.setup;
+        this.teardown = builder.teardown;
+        this.tasks = builder.task;
+        this.keys = inKeyOrder(builder.task.keySet());
     }
 
     /**
      * Executes the tasks concurrently and validates the results using the assertion.
+     * The incremental assertion validates the result of every task as soon as the task is completed, if it fails
+     * the remaining tasks are cancelled. When several rounds are configured, the racer threads are reused between
+     * the rounds and every round is validated by the assertion. The aggregate assertion, if any, gets the results of
+     * all rounds at the end.
+     * The statistics assertion, if any, gets the streaming aggregate of all rounds, which does not keep the results
+     * of the rounds. The distribution assertion, if any, gets the frequencies of the outcome signatures of all rounds.
+     * The rounds stop early when the stop predicate matches a round, or when no new outcome signature appeared for
+     * the configured number of rounds. Warm-up rounds, if configured, run on the same threads before the first round
+     * and their results are thrown away.
      */
     @Override
     public void go() {
-        Configuration configuration = Configuration.builder()
-                .setNumThreads(tasks.size())
-                .setTimeout(timeout)
-                .build();
+        RoundLoop<T> roundLoop = new RoundLoop<>(configuration, keys::get);
+        MeasuredRounds measuredRounds = new MeasuredRounds(roundLoop);
+        try {
+            roundLoop.run(this::racersOf, measuredRounds);
+        } finally {
+            rounds = roundLoop.rounds();
+            stopReason = roundLoop.stopReason();
+            warmupRounds = roundLoop.warmupRounds();
+            warmupNanos = roundLoop.warmupNanos();
+        }
+
+        if (aggregateAssertion != null) {
+            aggregateAssertion.accept(Collections.unmodifiableList(measuredRounds.roundResults));
+        }
+        if (statisticsAssertion != null) {
+            statisticsAssertion.accept(measuredRounds.statistics);
+        }
+        if (distributionAssertion != null) {
+            distributionAssertion.accept(measuredRounds.distribution);
+        }
+    }
 
-        Barrier barrier = new Barrier(configuration);
-        var tasksWithBarrier = addBarrier(tasks, barrier);
+    /**
+     * Returns the number of warm-up rounds run by the last {@link #go()}.
+     *
+     * @return the number of warm-up rounds run
+     */
+    public int warmupRounds() {
+        return warmupRounds;
+    }
 
-        BoundRaceExecutorImpl<K, T> executor = new BoundRaceExecutorImpl<>(configuration);
-        ComplexExecutionResult<K, T> executionResult = executor.execute(tasksWithBarrier, barrier);
+    /**
+     * Returns how long the warm-up of the last {@link #go()} took.
+     *
+     * @return the time of the warm-up in nanoseconds
+     */
+    public long warmupNanos() {
+        return warmupNanos;
+    }
 
-        assertion.accept(executionResult);
+    /**
+     * Returns the number of rounds run by the last {@link #go()}.
+     *
+     * @return the number of rounds run
+     */
+    public int rounds() {
+        return rounds;
     }
 
-    private Callable<T> addBarrier(Callable<T> callable, Barrier barrier) {
-        return () -> {
-            barrier.latch();
-            return callable.call();
-        };
+    /**
+     * Returns why the last {@link #go()} stopped starting new rounds.
+     *
+     * @return why the rounds stopped, or null if the race has not been run
+     */
+    public StopReason stopReason() {
+        return stopReason;
+    }
+
+    private OutcomeSignature<K> signatureOf(ComplexExecutionResult<K, T> executionResult) {
+        return outcomeClassifier == null
+                ? OutcomeSignature.of(executionResult)
+                : OutcomeSignature.of(executionResult, outcomeClassifier);
+    }
+
+    private List<GatedTask<T>> racersOf(Barrier barrier, Deadline deadline, int iteration, boolean isWarmup,
+                                        long scheduleSeed) {
+        DelaySchedule delaySchedule = configuration.delaySchedule();
+        Checkpoints checkpoints = new Checkpoints(deadline);
+        List<GatedTask<T>> gatedTasks = new ArrayList<>(keys.size());
+        for (int index = 0; index < keys.size(); index++) {
+            K key = keys.get(index);
+            long delayNanos = delaySchedule.delayNanos(scheduleSeed, index, keys.size());
+            gatedTasks.add(new GatedTask<>(tasks.get(key), barrier, delayNanos,
+                    new RaceContext(checkpoints, key, index, iteration, isWarmup),
+                    setup, teardown));
+        }
+        return gatedTasks;
+    }
+
+    /**
+     * The measured rounds of the race: builds the result of every round from the results of the racers by their
+     * indexes, validates it and decides whether the next round is started.
+     */
+    private final class MeasuredRounds implements RoundLoop.Rounds<T> {
+        private final RoundLoop<T> roundLoop;
+        private final List<ComplexExecutionResult<K, T>> roundResults =
+                aggregateAssertion == null ? null : new ArrayList<>();
+        private final RaceStatistics<T> statistics = statisticsAssertion == null ? null : new RaceStatistics<>();
+        private final OutcomeDistribution<K> distribution = distributionAssertion == null && noNewOutcomeRounds == 0
+                ? null
+                : new OutcomeDistribution<>();
+        private int roundsWithoutNewOutcome;
+        private IndexedExecutionResult<K, T> executionResult;
+        private long scheduleSeed;
+
+        private MeasuredRounds(RoundLoop<T> roundLoop) {
+            this.roundLoop = roundLoop;
+        }
+
+        @Override
+        public void start(long scheduleSeed) {
+            this.executionResult = new IndexedExecutionResult<>(keys);
+            this.scheduleSeed = scheduleSeed;
+        }
+
+        @Override
+        public void accept(TaskExecutionResult<T> taskExecutionResult, int index) {
+            executionResult.addResult(index, taskExecutionResult);
+            if (statistics != null) {
+                statistics.record(taskExecutionResult);
+            }
+            if (!taskExecutionResult.isCancelled()) {
+                completionCallback.accept(keys.get(index), taskExecutionResult);
+            }
+        }
+
+        @Override
+        public StopReason complete(Barrier barrier, Map<Integer, String> unresponsiveThreads) {
+            Map<K, String> unresponsiveByKey = new HashMap<>();
+            unresponsiveThreads.forEach((index, thread) -> unresponsiveByKey.put(keys.get(index), thread));
+            executionResult.setStartSkewNanos(barrier.startSkewNanos());
+            executionResult.setEngine(configuration.executionEngine().name());
+            executionResult.setUnresponsiveThreads(Collections.unmodifiableMap(unresponsiveByKey));
+            executionResult.setScheduleSeed(scheduleSeed);
+            executionResult.setWarmup(roundLoop.warmupRounds(), roundLoop.warmupNanos());
+
+            assertion.accept(executionResult);
+            if (roundResults != null) {
+                roundResults.add(executionResult);
+            }
+            if (statistics != null) {
+                statistics.recordRound();
+            }
+            if (distribution != null) {
+                boolean isNewOutcome = distribution.record(signatureOf(executionResult));
+                roundsWithoutNewOutcome = isNewOutcome ? 0 : roundsWithoutNewOutcome + 1;
+            }
+            if (stopPredicate != null && stopPredicate.test(executionResult)) {
+                return StopReason.PREDICATE;
+            }
+            if (noNewOutcomeRounds > 0 && roundsWithoutNewOutcome >= noNewOutcomeRounds) {
+                return StopReason.NO_NEW_OUTCOMES;
+            }
+            return null;
+        }
     }
 
-    private Map<K, Callable<T>> addBarrier(Map<K, Callable<T>> callableMap, Barrier barrier) {
-        return callableMap.entrySet()
-                .stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> addBarrier(e.getValue(), barrier)));
+    /**
+     * Returns the keys in a deterministic order, which does not depend on the iteration order of the map of tasks
+     * nor on the JVM: comparable keys in their natural order, other keys in the order of their string forms.
+     * The index of a racer is its position in this order, so the delays of a replayed seed go to the same racers.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K> List<K> inKeyOrder(Collection<K> keys) {
+        List<K> ordered = new ArrayList<>(keys);
+        try {
+            ordered.sort((first, second) -> ((Comparable<Object>) first).compareTo(second));
+        } catch (ClassCastException e) {
+            ordered.sort(Comparator.comparing(String::valueOf));
+        }
+        return Collections.unmodifiableList(ordered);
     }
 
     /**
@@ -83,28 +283,243 @@ public class BoundRaceTestSuit<K, T> implements RaceTestSuit {
      */
     public static class BoundRaceTestSuitBuilder<K, T> {
         // TODO: spreading logic - needs to simplify
-        private Duration timeout = Duration.of(30, ChronoUnit.SECONDS);
+        private Configuration configuration = Configuration.defaultConfiguration();
         private Consumer<ComplexExecutionResult<K, T>> assertion = (t) -> {
         };
+        private Consumer<List<ComplexExecutionResult<K, T>>> aggregateAssertion;
+        private Consumer<RaceStatistics<T>> statisticsAssertion;
+        private Function<ComplexExecutionResult<K, T>, ?> outcomeClassifier;
+        private Consumer<OutcomeDistribution<K>> distributionAssertion;
+        private RacerHook setup;
+        private RacerHook teardown;
+        private Predicate<ComplexExecutionResult<K, T>> stopPredicate;
+        private int noNewOutcomeRounds;
+        private BiConsumer<K, TaskExecutionResult<T>> completionCallback = (key, result) -> {
+        };
+        private BiConsumer<K, TaskExecutionResult<T>> incrementalAssertion = (key, result) -> {
+        };
         private final Map<K, Callable<T>> task;
 
         public BoundRaceTestSuitBuilder(Map<K, Callable<T>> task) {
             this.task = task;
         }
 
+        /**
+         * @param configuration - configuration of execution - timeout, gate mode. The number of threads is always
+         *                      taken from the number of tasks
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withConfiguration(Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
         public BoundRaceTestSuitBuilder<K, T> withTimeout(Duration timeout) {
-            this.timeout = timeout;
+            this.configuration = configuration.toBuilder()
+                    .setTimeout(timeout)
+                    .build();
+            return this;
+        }
+
+        public BoundRaceTestSuitBuilder<K, T> withGateMode(GateMode gateMode) {
+            this.configuration = configuration.toBuilder()
+                    .setGateMode(gateMode)
+                    .build();
+            return this;
+        }
+
+        public BoundRaceTestSuitBuilder<K, T> withExecutionEngine(RaceEngine executionEngine) {
+            this.configuration = configuration.toBuilder()
+                    .setExecutionEngine(executionEngine)
+                    .build();
+            return this;
+        }
+
+        public BoundRaceTestSuitBuilder<K, T> withCancellationPolicy(CancellationPolicy cancellationPolicy) {
+            this.configuration = configuration.toBuilder()
+                    .setCancellationPolicy(cancellationPolicy)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param delaySchedule - schedule of delays between passing the start gate and calling the tasks
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withDelaySchedule(DelaySchedule delaySchedule) {
+            this.configuration = configuration.toBuilder()
+                    .setDelaySchedule(delaySchedule)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param setup - hook which runs on the racer thread before the racer arrives at the start gate, for example
+         *              to open a connection and attach it to the racer context
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withSetup(RacerHook setup) {
+            this.setup = setup;
+            return this;
+        }
+
+        /**
+         * @param teardown - hook which runs on the racer thread after the task is completed, for example to close
+         *                 the connection attached to the racer context
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withTeardown(RacerHook teardown) {
+            this.teardown = teardown;
+            return this;
+        }
+
+        /**
+         * @param warmupIterations - how many warm-up rounds to run on the same threads before the race, their results
+         *                         are thrown away
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> warmUp(int warmupIterations) {
+            this.configuration = configuration.toBuilder()
+                    .setWarmupIterations(warmupIterations)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param warmupDuration - time during which warm-up rounds are started before the race, their results are
+         *                       thrown away
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> warmUpFor(Duration warmupDuration) {
+            this.configuration = configuration.toBuilder()
+                    .setWarmupDuration(warmupDuration)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param iterations - how many race rounds to run, the racer threads are reused between the rounds
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> repeat(int iterations) {
+            this.configuration = configuration.toBuilder()
+                    .setIterations(iterations)
+                    .build();
             return this;
         }
 
+        /**
+         * @param duration - time during which new race rounds are started, the racer threads are reused between
+         *                 the rounds
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> forDuration(Duration duration) {
+            this.configuration = configuration.toBuilder()
+                    .setIterationsDuration(duration)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param assertion - assertion to validate the result of every round
+         * @return link to builder
+         */
         public BoundRaceTestSuitBuilder<K, T> withAssertion(Consumer<ComplexExecutionResult<K, T>> assertion) {
             this.assertion = assertion;
             return this;
         }
 
+        /**
+         * @param aggregateAssertion - assertion to validate the results of all rounds once the last round is over
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withAggregateAssertion(
+                Consumer<List<ComplexExecutionResult<K, T>>> aggregateAssertion) {
+            this.aggregateAssertion = aggregateAssertion;
+            return this;
+        }
+
+        /**
+         * @param statisticsAssertion - assertion to validate the streaming aggregate of all rounds once the last round
+         *                            is over. Unlike the aggregate assertion it keeps constant memory, so it suits
+         *                            races of millions of rounds
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withStatisticsAssertion(Consumer<RaceStatistics<T>> statisticsAssertion) {
+            this.statisticsAssertion = statisticsAssertion;
+            return this;
+        }
+
+        /**
+         * @param stopPredicate - predicate which stops the rounds as soon as it matches the result of a round, for
+         *                      example the round which revealed the race. The budget of rounds is set by
+         *                      {@link #repeat(int)} or {@link #forDuration(Duration)}
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> until(Predicate<ComplexExecutionResult<K, T>> stopPredicate) {
+            this.stopPredicate = stopPredicate;
+            return this;
+        }
+
+        /**
+         * @param rounds - stops the rounds when no new outcome signature appeared for this number of rounds.
+         *               The budget of rounds is set by {@link #repeat(int)} or {@link #forDuration(Duration)}
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> untilNoNewOutcomeFor(int rounds) {
+            if (rounds < 1) {
+                throw new IllegalArgumentException("Rounds must be positive, but was " + rounds);
+            }
+            this.noNewOutcomeRounds = rounds;
+            return this;
+        }
+
+        /**
+         * @param outcomeClassifier - classifier which labels the outcome of every round, for example "lost update".
+         *                          The label is a part of the outcome signature
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withOutcomeClassifier(
+                Function<ComplexExecutionResult<K, T>, ?> outcomeClassifier) {
+            this.outcomeClassifier = outcomeClassifier;
+            return this;
+        }
+
+        /**
+         * @param distributionAssertion - assertion to validate how often each outcome signature occurred once the last
+         *                              round is over
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withDistributionAssertion(
+                Consumer<OutcomeDistribution<K>> distributionAssertion) {
+            this.distributionAssertion = distributionAssertion;
+            return this;
+        }
+
+        /**
+         * @param completionCallback - callback which gets the result of every task as soon as the task is completed,
+         *                           in the order of completion
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> onComplete(BiConsumer<K, TaskExecutionResult<T>> completionCallback) {
+            this.completionCallback = completionCallback;
+            return this;
+        }
+
+        /**
+         * @param incrementalAssertion - assertion to validate the result of every task as soon as the task is
+         *                             completed. If it fails, the remaining tasks are cancelled and the race is
+         *                             aborted with its error
+         * @return link to builder
+         */
+        public BoundRaceTestSuitBuilder<K, T> withIncrementalAssertion(
+                BiConsumer<K, TaskExecutionResult<T>> incrementalAssertion) {
+            this.incrementalAssertion = incrementalAssertion;
+            return this;
+        }
+
         public BoundRaceTestSuit<K, T> go() {
-            BoundRaceTestSuit<K, T> concurrentExecutionTestSuit =
-                    new BoundRaceTestSuit<>(timeout, assertion, task);
+            BoundRaceTestSuit<K, T> concurrentExecutionTestSuit = new BoundRaceTestSuit<>(this);
             concurrentExecutionTestSuit.go();
             return concurrentExecutionTestSuit;
         }
@@ -0,0 +1,37 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+/**
+ * This enum represents what a race round does with the racers which are still running.
+ * Cancelled racers are interrupted and marked as cancelled in their results.
+ */
+public enum CancellationPolicy {
+    /**
+     * Waits for all racers until the deadline. When the deadline expires, the remaining racers are cancelled
+     * and the round fails with {@link BoundRaceExecutorImpl.ExecutionException}.
+     */
+    WAIT_ALL,
+
+    /**
+     * Cancels the remaining racers as soon as one racer fails, or when the deadline expires.
+     * The round does not fail, the results of the cancelled racers are reported.
+     */
+    CANCEL_ON_FIRST_ERROR,
+
+    /**
+     * Cancels the remaining racers when the deadline expires.
+     * The round does not fail, the results of the cancelled racers are reported.
+     */
+    CANCEL_ON_DEADLINE
+}
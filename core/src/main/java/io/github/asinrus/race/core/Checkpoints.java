@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents the named checkpoints of a race round. A racer waits at a checkpoint until every racer
+ * which is still running has arrived at it or skipped it. Racers which are finished do not hold back the others.
+ */
+class Checkpoints {
+    private final Deadline deadline;
+    private final Set<RaceContext> running = new HashSet<>();
+    private final Map<String, Set<RaceContext>> arrived = new HashMap<>();
+
+    /**
+     * Constructs new Checkpoints of the race round with the given deadline. No racer waits at a checkpoint after
+     * the deadline of the round.
+     *
+     * @param deadline the deadline of the race round
+     */
+    Checkpoints(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Registers a racer of the round.
+     *
+     * @param racer the racer to register
+     */
+    synchronized void register(RaceContext racer) {
+        running.add(racer);
+    }
+
+    /**
+     * Deregisters a finished racer, so the other racers do not wait for it at checkpoints.
+     *
+     * @param racer the finished racer
+     */
+    synchronized void deregister(RaceContext racer) {
+        if (running.remove(racer)) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Marks the given checkpoint as passed by the racer without waiting for the others.
+     *
+     * @param racer the racer which skips the checkpoint
+     * @param name  the name of the checkpoint
+     */
+    synchronized void skip(RaceContext racer, String name) {
+        arrived.computeIfAbsent(name, key -> new HashSet<>()).add(racer);
+        notifyAll();
+    }
+
+    /**
+     * Waits at the given checkpoint until every running racer has arrived at it, or the deadline of the round
+     * expires.
+     *
+     * @param racer the racer which arrives at the checkpoint
+     * @param name  the name of the checkpoint
+     * @return true if every running racer arrived, false if the deadline expired or the racer was interrupted
+     */
+    boolean arriveAndAwait(RaceContext racer, String name) {
+        return arriveAndAwait(racer, name, deadline);
+    }
+
+    /**
+     * Waits at the given checkpoint until every running racer has arrived at it, or the waiting time elapses,
+     * or the deadline of the round expires.
+     *
+     * @param racer the racer which arrives at the checkpoint
+     * @param name  the name of the checkpoint
+     * @param wait  the maximum time to wait
+     * @return true if every running racer arrived, false if the waiting time elapsed or the racer was interrupted
+     */
+    boolean arriveAndAwait(RaceContext racer, String name, Duration wait) {
+        return arriveAndAwait(racer, name, Deadline.after(wait).earliest(deadline));
+    }
+
+    private synchronized boolean arriveAndAwait(RaceContext racer, String name, Deadline deadline) {
+        Set<RaceContext> arrivedRacers = arrived.computeIfAbsent(name, key -> new HashSet<>());
+        arrivedRacers.add(racer);
+        notifyAll();
+        while (!arrivedRacers.containsAll(running)) {
+            long remainingNanos = deadline.remainingNanos();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            try {
+                wait(remainingNanos / 1_000_000, (int) (remainingNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.ComplexExecutionResultImpl;
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class collects the results of completion stages without blocking a thread per stage.
+ * The results are recorded by the threads which complete the stages, in the order of completion.
+ */
+class CompletionStageCollector<K, T> {
+    private final Map<K, TaskExecutionResult<T>> results = new ConcurrentHashMap<>();
+    private final Queue<K> completionOrder = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch pending;
+
+    /**
+     * Constructs a new CompletionStageCollector for the given number of stages.
+     *
+     * @param numStages the number of stages to collect
+     */
+    CompletionStageCollector(int numStages) {
+        pending = new CountDownLatch(numStages);
+    }
+
+    /**
+     * Records the result of the given stage once it is completed.
+     *
+     * @param key           the key of the stage
+     * @param stage         the stage to watch
+     * @param queuedNanos   the time the stage was requested
+     * @param releasedNanos the time the stage passed the start gate
+     * @param startedNanos  the time the stage was started
+     */
+    void watch(K key, CompletionStage<T> stage, long queuedNanos, long releasedNanos, long startedNanos) {
+        stage.whenComplete((result, error) -> {
+            long finishedNanos = System.nanoTime();
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            complete(key, new TaskExecutionResult<>(result, cause, cause != null,
+                    queuedNanos, releasedNanos, startedNanos, finishedNanos));
+        });
+    }
+
+    /**
+     * Records the given error of a stage which could not be started.
+     *
+     * @param key           the key of the stage
+     * @param error         the error thrown while starting the stage
+     * @param queuedNanos   the time the stage was requested
+     * @param releasedNanos the time the stage passed the start gate
+     * @param startedNanos  the time the stage was started
+     */
+    void fail(K key, Throwable error, long queuedNanos, long releasedNanos, long startedNanos) {
+        complete(key, new TaskExecutionResult<>(null, error, true,
+                queuedNanos, releasedNanos, startedNanos, System.nanoTime()));
+    }
+
+    /**
+     * Waits until every stage is completed.
+     *
+     * @param deadline the deadline of the race
+     * @throws BoundRaceExecutorImpl.ExecutionException if the deadline expires or the thread is interrupted
+     */
+    void awaitAll(Deadline deadline) {
+        try {
+            if (!pending.await(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw new BoundRaceExecutorImpl.ExecutionException(
+                        "Time out running out, but not all tasks was finished", RacePhase.EXECUTION);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoundRaceExecutorImpl.ExecutionException(e);
+        }
+    }
+
+    /**
+     * Returns the results of the stages in the order of completion. All stages must be completed.
+     *
+     * @return the results of the stages
+     */
+    ComplexExecutionResultImpl<K, T> toComplexExecutionResult() {
+        var complexExecutionResult = new ComplexExecutionResultImpl<K, T>();
+        for (K key : completionOrder) {
+            complexExecutionResult.addResult(key, results.get(key));
+        }
+        return complexExecutionResult;
+    }
+
+    private void complete(K key, TaskExecutionResult<T> taskExecutionResult) {
+        results.put(key, taskExecutionResult);
+        completionOrder.add(key);
+        pending.countDown();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This class represents the concurrency levels of a sweep - the numbers of racers a race is run with, one after
+ * another, to find where the throughput stops scaling.
+ */
+public final class ConcurrencySweep {
+    private final List<Integer> levels;
+
+    private ConcurrencySweep(List<Integer> levels) {
+        if (levels.isEmpty()) {
+            throw new IllegalArgumentException("Sweep must have at least one level");
+        }
+        for (int level : levels) {
+            if (level < 1) {
+                throw new IllegalArgumentException("Concurrency level must be positive, but was " + level);
+            }
+        }
+        this.levels = Collections.unmodifiableList(levels);
+    }
+
+    /**
+     * Returns a sweep over the given concurrency levels.
+     *
+     * @param levels the numbers of racers
+     * @return a sweep over the given levels
+     */
+    public static ConcurrencySweep of(int... levels) {
+        return new ConcurrencySweep(Arrays.stream(levels).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns a sweep from one level to another with a fixed step, for example 2, 4, 6, 8.
+     *
+     * @param from the first number of racers
+     * @param to   the largest number of racers
+     * @param step the difference between two subsequent levels
+     * @return a sweep with linear steps
+     */
+    public static ConcurrencySweep linear(int from, int to, int step) {
+        if (step < 1) {
+            throw new IllegalArgumentException("Step must be positive, but was " + step);
+        }
+        List<Integer> levels = new ArrayList<>();
+        for (int level = from; level <= to; level += step) {
+            levels.add(level);
+        }
+        return new ConcurrencySweep(levels);
+    }
+
+    /**
+     * Returns a sweep from one level to another where every level is the previous one multiplied by the factor,
+     * for example 2, 4, 8, 16.
+     *
+     * @param from   the first number of racers
+     * @param to     the largest number of racers
+     * @param factor the factor between two subsequent levels, greater than 1
+     * @return a sweep with geometric steps
+     */
+    public static ConcurrencySweep geometric(int from, int to, double factor) {
+        if (!(factor > 1)) {
+            throw new IllegalArgumentException("Factor must be greater than 1, but was " + factor);
+        }
+        List<Integer> levels = new ArrayList<>();
+        for (int level = from; level <= to; level = Math.max(level + 1, (int) Math.round(level * factor))) {
+            levels.add(level);
+        }
+        return new ConcurrencySweep(levels);
+    }
+
+    /**
+     * Returns the concurrency levels of the sweep.
+     *
+     * @return the numbers of racers, in the order they are run
+     */
+    public List<Integer> levels() {
+        return levels;
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrencySweep" + levels;
+    }
+}
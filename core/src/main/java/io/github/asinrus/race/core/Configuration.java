@@ -12,6 +12,8 @@
 
 package io.github.asinrus.race.core;
 
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
+
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Objects;
@@ -23,16 +25,36 @@ public class Configuration {
 
     private final int numThreads;
     private final Duration timeout;
+    private final GateMode gateMode;
+    private final int iterations;
+    private final Duration iterationsDuration;
+    private final RaceEngine executionEngine;
+    private final CancellationPolicy cancellationPolicy;
+    private final Duration cancellationGracePeriod;
+    private final DelaySchedule delaySchedule;
+    private final int warmupIterations;
+    private final Duration warmupDuration;
+    private final boolean threadUsageEnabled;
 
     /**
-     * Constructs a new Configuration with the given number of threads and timeout.
+     * Constructs a new Configuration with the settings of the given builder.
      *
-     * @param numThreads the number of threads to use for concurrent execution
-     * @param timeout    the maximum time to wait for the tasks to complete
+     * @param builder the builder to take the settings from
      */
-    private Configuration(int numThreads, Duration timeout) {
-        this.numThreads = numThreads;
-        this.timeout = timeout;
+    private Configuration(ConfigurationBuilder builder) {
+        this.numThreads = Objects.requireNonNullElse(builder.numThreads, 2);
+        this.timeout = Objects.requireNonNullElse(builder.timeout, Duration.of(30, ChronoUnit.SECONDS));
+        this.gateMode = Objects.requireNonNullElse(builder.gateMode, GateMode.PARK);
+        this.iterations = Objects.requireNonNullElse(builder.iterations, 0);
+        this.iterationsDuration = builder.iterationsDuration;
+        this.executionEngine = Objects.requireNonNullElse(builder.executionEngine, ExecutionEngine.PLATFORM_THREADS);
+        this.cancellationPolicy = Objects.requireNonNullElse(builder.cancellationPolicy, CancellationPolicy.WAIT_ALL);
+        this.cancellationGracePeriod = Objects.requireNonNullElse(builder.cancellationGracePeriod,
+                Duration.of(100, ChronoUnit.MILLIS));
+        this.delaySchedule = Objects.requireNonNullElse(builder.delaySchedule, DelaySchedule.none());
+        this.warmupIterations = Objects.requireNonNullElse(builder.warmupIterations, 0);
+        this.warmupDuration = builder.warmupDuration;
+        this.threadUsageEnabled = builder.threadUsageEnabled;
     }
 
     /**
@@ -71,12 +93,147 @@ public class Configuration {
         return timeout;
     }
 
+    /**
+     * Returns the way racers wait at the start gate.
+     *
+     * @return the way racers wait at the start gate
+     */
+    public GateMode gateMode() {
+        return gateMode;
+    }
+
+    /**
+     * Returns the maximum number of race rounds. If only {@link #iterationsDuration()} is set, the number of rounds
+     * is not limited, if neither is set a single round is run.
+     *
+     * @return the maximum number of race rounds
+     */
+    public int iterations() {
+        if (iterations > 0) {
+            return iterations;
+        }
+        return iterationsDuration == null ? 1 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the time after which no new race round is started.
+     *
+     * @return the time after which no new race round is started, or null if the rounds are not limited by time
+     */
+    public Duration iterationsDuration() {
+        return iterationsDuration;
+    }
+
+    /**
+     * Returns the engine the racers run on.
+     *
+     * @return the engine the racers run on
+     */
+    public RaceEngine executionEngine() {
+        return executionEngine;
+    }
+
+    /**
+     * Returns what a race round does with the racers which are still running.
+     *
+     * @return what a race round does with the racers which are still running
+     */
+    public CancellationPolicy cancellationPolicy() {
+        return cancellationPolicy;
+    }
+
+    /**
+     * Returns how long cancelled racers are given to stop before they are reported as ignoring the interrupt.
+     *
+     * @return how long cancelled racers are given to stop
+     */
+    public Duration cancellationGracePeriod() {
+        return cancellationGracePeriod;
+    }
+
+    /**
+     * Returns the schedule of delays between passing the start gate and calling the tasks.
+     *
+     * @return the schedule of delays between passing the start gate and calling the tasks
+     */
+    public DelaySchedule delaySchedule() {
+        return delaySchedule;
+    }
+
+    /**
+     * Returns the maximum number of warm-up rounds, whose results are thrown away. If only {@link #warmupDuration()}
+     * is set, the number of warm-up rounds is not limited, if neither is set there is no warm-up.
+     *
+     * @return the maximum number of warm-up rounds
+     */
+    public int warmupIterations() {
+        if (warmupIterations > 0) {
+            return warmupIterations;
+        }
+        return warmupDuration == null ? 0 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the time after which no new warm-up round is started.
+     *
+     * @return the time after which no new warm-up round is started, or null if the warm-up is not limited by time
+     */
+    public Duration warmupDuration() {
+        return warmupDuration;
+    }
+
+    /**
+     * Returns whether the CPU time, the blocked and waited times and the allocated bytes of every racer thread are
+     * measured while the racer runs its task.
+     *
+     * @return whether the usage of the racer threads is measured
+     */
+    public boolean isThreadUsageEnabled() {
+        return threadUsageEnabled;
+    }
+
+    /**
+     * Returns a new ConfigurationBuilder initialized with the settings of this configuration.
+     *
+     * @return a new ConfigurationBuilder initialized with the settings of this configuration
+     */
+    public ConfigurationBuilder toBuilder() {
+        ConfigurationBuilder builder = builder()
+                .setNumThreads(numThreads)
+                .setTimeout(timeout)
+                .setGateMode(gateMode)
+                .setIterationsDuration(iterationsDuration)
+                .setExecutionEngine(executionEngine)
+                .setCancellationPolicy(cancellationPolicy)
+                .setCancellationGracePeriod(cancellationGracePeriod)
+                .setDelaySchedule(delaySchedule)
+                .setWarmupDuration(warmupDuration)
+                .setThreadUsageEnabled(threadUsageEnabled);
+        if (iterations > 0) {
+            builder.setIterations(iterations);
+        }
+        if (warmupIterations > 0) {
+            builder.setWarmupIterations(warmupIterations);
+        }
+        return builder;
+    }
+
     /**
      * This class represents a builder for creating a Configuration.
      */
     public static class ConfigurationBuilder {
         private Integer numThreads;
         private Duration timeout;
+        private GateMode gateMode;
+        private Integer iterations;
+        private Duration iterationsDuration;
+        private RaceEngine executionEngine;
+        private CancellationPolicy cancellationPolicy;
+        private Duration cancellationGracePeriod;
+        private DelaySchedule delaySchedule;
+        private Integer warmupIterations;
+        private Duration warmupDuration;
+        private boolean threadUsageEnabled;
 
         public ConfigurationBuilder setNumThreads(int numThreads) {
             this.numThreads = numThreads;
@@ -88,16 +245,112 @@ public class Configuration {
             return this;
         }
 
+        public ConfigurationBuilder setGateMode(GateMode gateMode) {
+            this.gateMode = gateMode;
+            return this;
+        }
+
+        /**
+         * @param iterations - how many race rounds to run on the same threads
+         * @return link to builder
+         */
+        public ConfigurationBuilder setIterations(int iterations) {
+            if (iterations < 1) {
+                throw new IllegalArgumentException("Iterations must be positive, but was " + iterations);
+            }
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * @param iterationsDuration - time after which no new race round is started
+         * @return link to builder
+         */
+        public ConfigurationBuilder setIterationsDuration(Duration iterationsDuration) {
+            this.iterationsDuration = iterationsDuration;
+            return this;
+        }
+
+        /**
+         * @param executionEngine - engine the racers run on, one of {@link ExecutionEngine} or a custom one
+         * @return link to builder
+         */
+        public ConfigurationBuilder setExecutionEngine(RaceEngine executionEngine) {
+            this.executionEngine = executionEngine;
+            return this;
+        }
+
+        /**
+         * @param cancellationPolicy - what a race round does with the racers which are still running
+         * @return link to builder
+         */
+        public ConfigurationBuilder setCancellationPolicy(CancellationPolicy cancellationPolicy) {
+            this.cancellationPolicy = cancellationPolicy;
+            return this;
+        }
+
+        /**
+         * @param cancellationGracePeriod - how long cancelled racers are given to stop before they are reported
+         *                                as ignoring the interrupt
+         * @return link to builder
+         */
+        public ConfigurationBuilder setCancellationGracePeriod(Duration cancellationGracePeriod) {
+            this.cancellationGracePeriod = cancellationGracePeriod;
+            return this;
+        }
+
+        /**
+         * @param delaySchedule - schedule of delays between passing the start gate and calling the tasks,
+         *                      see {@link DelaySchedule#random} and {@link DelaySchedule#systematic}
+         * @return link to builder
+         */
+        public ConfigurationBuilder setDelaySchedule(DelaySchedule delaySchedule) {
+            this.delaySchedule = delaySchedule;
+            return this;
+        }
+
+        /**
+         * @param warmupIterations - how many warm-up rounds to run before the race, their results are thrown away
+         * @return link to builder
+         */
+        public ConfigurationBuilder setWarmupIterations(int warmupIterations) {
+            if (warmupIterations < 1) {
+                throw new IllegalArgumentException("Warm-up iterations must be positive, but was " + warmupIterations);
+            }
+            this.warmupIterations = warmupIterations;
+            return this;
+        }
+
+        /**
+         * @param warmupDuration - time after which no new warm-up round is started
+         * @return link to builder
+         */
+        public ConfigurationBuilder setWarmupDuration(Duration warmupDuration) {
+            this.warmupDuration = warmupDuration;
+            return this;
+        }
+
+        /**
+         * @param threadUsageEnabled - whether to measure the CPU time, the blocked and waited times and the allocated
+         *                           bytes of every racer thread while it runs its task, see
+         *                           {@link TaskExecutionResult#threadUsage()}. The blocked and waited times need the
+         *                           JVM-wide thread contention monitoring, which is turned on while the race runs
+         *                           and restored when it is over
+         * @return link to builder
+         */
+        public ConfigurationBuilder setThreadUsageEnabled(boolean threadUsageEnabled) {
+            this.threadUsageEnabled = threadUsageEnabled;
+            return this;
+        }
+
         /**
          * Returns a new Configuration with the current settings of this builder.
          *
          * @return a new Configuration with the current settings of this builder
          */
         public Configuration build() {
-            return new Configuration(
-                    Objects.requireNonNullElse(numThreads, 2),
-                    Objects.requireNonNullElse(timeout, Duration.of(30, ChronoUnit.SECONDS)));
+            return new Configuration(this);
         }
     }
 
-}
\ No newline at end of file
+}
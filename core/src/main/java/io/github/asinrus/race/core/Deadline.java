@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.time.Duration;
+
+/**
+ * This class represents a point in time, measured by {@link System#nanoTime()}, by which a race round must be over.
+ * One deadline is shared by all waiting phases of the round, so the round never waits longer than its timeout.
+ */
+public final class Deadline {
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Returns a new Deadline which expires after the given timeout from now.
+     *
+     * @param timeout the time after which the deadline expires
+     * @return a new Deadline which expires after the given timeout from now
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + saturatedNanos(timeout));
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the time left until the deadline in nanoseconds, 0 or less if the deadline has expired
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Returns the deadline which expires first, this one or the given one.
+     *
+     * @param other the deadline to compare with
+     * @return the deadline which expires first
+     */
+    public Deadline earliest(Deadline other) {
+        return deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+
+    /**
+     * Returns whether the deadline has expired.
+     *
+     * @return whether the deadline has expired
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    private static long saturatedNanos(Duration timeout) {
+        try {
+            return timeout.toNanos();
+        } catch (ArithmeticException e) {
+            // about 292 years, enough for every race
+            return Long.MAX_VALUE / 2;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.time.Duration;
+
+/**
+ * This interface represents a schedule of delays which racers wait between passing the start gate and calling
+ * their tasks. Delays shift the racers against each other, so different interleavings are explored in fewer rounds.
+ * The delays of a round depend only on the seed of the round and the indexes of the racers, so a round can be
+ * replayed with {@link #replay(long)} and the seed reported in the result of the round, also in another JVM.
+ * The index of a racer is the position of its key in a deterministic order - the natural order of comparable keys,
+ * otherwise the order of the string forms of the keys - not the iteration order of the map of tasks.
+ */
+public interface DelaySchedule {
+
+    /**
+     * Returns the seed of the given round. The seed is reported in the result of the round.
+     *
+     * @param iteration the number of the round, starting from 0
+     * @return the seed of the round
+     */
+    long seed(int iteration);
+
+    /**
+     * Returns the delay of the given racer in a round with the given seed.
+     *
+     * @param seed    the seed of the round
+     * @param index   the index of the racer, its position in the order of the keys, from 0 to the number of racers
+     * @param parties the number of racers
+     * @return the delay of the racer in nanoseconds
+     */
+    long delayNanos(long seed, int index, int parties);
+
+    /**
+     * Returns a schedule which runs every round with the given seed, for example the seed of a failed round.
+     *
+     * @param seed the seed reported in the result of the round to replay
+     * @return a schedule which runs every round with the given seed
+     */
+    default DelaySchedule replay(long seed) {
+        return new DelaySchedules.Replay(this, seed);
+    }
+
+    /**
+     * Returns a schedule without delays. The racers call their tasks as soon as they pass the start gate.
+     *
+     * @return a schedule without delays
+     */
+    static DelaySchedule none() {
+        return DelaySchedules.NONE;
+    }
+
+    /**
+     * Returns a schedule of random delays up to the given maximum. Every racer gets its own delay in every round.
+     *
+     * @param seed     the seed the seeds of the rounds are derived from
+     * @param maxDelay the maximum delay of a racer
+     * @return a schedule of seeded random delays
+     */
+    static DelaySchedule random(long seed, Duration maxDelay) {
+        return new DelaySchedules.Random(seed, maxDelay.toNanos());
+    }
+
+    /**
+     * Returns a schedule which starts the racers one after another with the given step. The order rotates every round,
+     * so every racer goes first in some round. The seed of a round is its number.
+     *
+     * @param step the delay between two subsequent racers
+     * @return a schedule of systematic delays
+     */
+    static DelaySchedule systematic(Duration step) {
+        return new DelaySchedules.Systematic(step.toNanos());
+    }
+}
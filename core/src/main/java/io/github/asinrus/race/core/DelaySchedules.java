@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+/**
+ * This class contains the built-in implementations of {@link DelaySchedule}.
+ */
+final class DelaySchedules {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    static final DelaySchedule NONE = new DelaySchedule() {
+        @Override
+        public long seed(int iteration) {
+            return 0;
+        }
+
+        @Override
+        public long delayNanos(long seed, int index, int parties) {
+            return 0;
+        }
+    };
+
+    private DelaySchedules() {
+    }
+
+    /**
+     * Returns a well mixed value of the given value, the finalizer of the SplitMix64 generator.
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    static final class Random implements DelaySchedule {
+        private final long seed;
+        private final long maxDelayNanos;
+
+        Random(long seed, long maxDelayNanos) {
+            if (maxDelayNanos < 0) {
+                throw new IllegalArgumentException("Max delay must not be negative, but was " + maxDelayNanos);
+            }
+            this.seed = seed;
+            this.maxDelayNanos = maxDelayNanos;
+        }
+
+        @Override
+        public long seed(int iteration) {
+            return mix(seed + GOLDEN_GAMMA * (iteration + 1L));
+        }
+
+        @Override
+        public long delayNanos(long seed, int index, int parties) {
+            if (maxDelayNanos == 0) {
+                return 0;
+            }
+            return Math.floorMod(mix(seed + GOLDEN_GAMMA * (index + 1L)), maxDelayNanos + 1);
+        }
+    }
+
+    static final class Systematic implements DelaySchedule {
+        private final long stepNanos;
+
+        Systematic(long stepNanos) {
+            if (stepNanos < 0) {
+                throw new IllegalArgumentException("Step must not be negative, but was " + stepNanos);
+            }
+            this.stepNanos = stepNanos;
+        }
+
+        @Override
+        public long seed(int iteration) {
+            return iteration;
+        }
+
+        @Override
+        public long delayNanos(long seed, int index, int parties) {
+            return Math.floorMod(index + seed, (long) parties) * stepNanos;
+        }
+    }
+
+    static final class Replay implements DelaySchedule {
+        private final DelaySchedule schedule;
+        private final long seed;
+
+        Replay(DelaySchedule schedule, long seed) {
+            this.schedule = schedule;
+            this.seed = seed;
+        }
+
+        @Override
+        public long seed(int iteration) {
+            return seed;
+        }
+
+        @Override
+        public long delayNanos(long seed, int index, int parties) {
+            return schedule.delayNanos(seed, index, parties);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This enum represents the built-in execution engines.
+ */
+public enum ExecutionEngine implements RaceEngine {
+    /**
+     * Every racer runs on its own platform thread of a fixed thread pool.
+     */
+    PLATFORM_THREADS {
+        @Override
+        public ExecutorService newExecutor(int numThreads) {
+            return Executors.newFixedThreadPool(numThreads);
+        }
+    },
+
+    /**
+     * Every racer runs on its own virtual thread, so thousands of racers do not need thousands of OS threads.
+     * Requires Java 21 or newer. Do not combine it with {@link GateMode#SPIN_THEN_PARK}: a spinning virtual thread
+     * keeps its carrier thread busy, so with more racers than carriers the last racers only start once the spin
+     * budget of the others is over.
+     */
+    VIRTUAL_THREADS {
+        @Override
+        public ExecutorService newExecutor(int numThreads) {
+            return VirtualThreads.newExecutor();
+        }
+    },
+
+    /**
+     * The racers run on a new {@link ForkJoinPool} with the parallelism equal to the number of racers.
+     */
+    FORK_JOIN {
+        @Override
+        public ExecutorService newExecutor(int numThreads) {
+            return new ForkJoinPool(numThreads);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
@@ -26,8 +27,33 @@ public class FutureRaceTestSuit<K, T> implements RaceTestSuit {
         this.completableFutureMap = completableFutureMap;
     }
 
+    /**
+     * Waits for the futures and validates their results using the assertion. If every future is
+     * a {@link CompletionStage}, the results are collected without blocking a thread per future and are added
+     * to the result in the order of completion. Other futures are awaited by racers of a bound race.
+     */
     @Override
     public void go() {
+        if (completableFutureMap.values().stream().allMatch(CompletionStage.class::isInstance)) {
+            collectCompletionStages();
+        } else {
+            raceBlockingFutures();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectCompletionStages() {
+        Deadline deadline = Deadline.after(timeout);
+        CompletionStageCollector<K, T> collector = new CompletionStageCollector<>(completableFutureMap.size());
+        long startedNanos = System.nanoTime();
+        completableFutureMap.forEach((key, future) ->
+                collector.watch(key, (CompletionStage<T>) future, startedNanos, startedNanos, startedNanos));
+        collector.awaitAll(deadline);
+
+        assertion.accept(collector.toComplexExecutionResult());
+    }
+
+    private void raceBlockingFutures() {
         Map<K, Callable<T>> callableMap = completableFutureMap.entrySet()
                 .stream()
                 .collect(toMap(Map.Entry::getKey,
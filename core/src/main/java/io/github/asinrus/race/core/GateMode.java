@@ -0,0 +1,32 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+/**
+ * This enum represents the way racers wait at the start gate of a {@link Barrier}.
+ */
+public enum GateMode {
+    /**
+     * Every racer parks at the gate until all racers have arrived and the gate is opened.
+     */
+    PARK,
+
+    /**
+     * Every racer parks until all racers have arrived, then busy-spins on the gate and falls back to parking
+     * if the gate is not opened within a short spin budget. It gives the tightest release for a small number
+     * of racers, but burns a core per racer while spinning. On {@link ExecutionEngine#VIRTUAL_THREADS} the spinning
+     * racers hold their carrier threads, so racers which are not mounted yet cannot reach the gate until the spin
+     * budget is over - use {@link #PARK} with virtual threads.
+     */
+    SPIN_THEN_PARK
+}
@@ -0,0 +1,351 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.ThreadUsage;
+import io.github.asinrus.race.core.jfr.RaceEvents;
+import io.github.asinrus.race.core.jfr.RacerExecutionEvent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class represents a racer task - a task which waits at the start gate of a {@link Barrier} before
+ * it is called. It records the {@link System#nanoTime()} of every stage of the racer.
+ * The timestamps are written by the racer thread and must be read only after the task is completed.
+ */
+public class GatedTask<T> implements Callable<T> {
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final Callable<T> callable;
+    private final Barrier barrier;
+    private final long delayNanos;
+    private final RaceContext context;
+    private final RacerHook setup;
+    private final RacerHook teardown;
+    private long queuedNanos;
+    private long releasedNanos;
+    private long startedNanos;
+    private long finishedNanos;
+    private long setupNanos;
+    private long teardownNanos;
+    private Throwable teardownError;
+    private ThreadUsageProbe threadUsageProbe;
+    private ThreadUsage threadUsage;
+    private volatile Thread runner;
+    private volatile boolean isTearingDown;
+
+    /**
+     * Constructs a new GatedTask for the given callable and barrier.
+     *
+     * @param callable the task to call once the gate is opened
+     * @param barrier  the barrier to wait at
+     */
+    public GatedTask(Callable<T> callable, Barrier barrier) {
+        this(callable, barrier, 0);
+    }
+
+    /**
+     * Constructs a new GatedTask for the given callable and barrier, which waits the given delay after passing
+     * the start gate.
+     *
+     * @param callable   the task to call once the gate is opened and the delay is over
+     * @param barrier    the barrier to wait at
+     * @param delayNanos the delay between passing the gate and calling the task, in nanoseconds
+     */
+    public GatedTask(Callable<T> callable, Barrier barrier, long delayNanos) {
+        this(callable, barrier, delayNanos, null);
+    }
+
+    /**
+     * Constructs a new GatedTask for the given callable and barrier, which waits the given delay after passing
+     * the start gate and binds the given racer context to its thread while it runs.
+     *
+     * @param callable   the task to call once the gate is opened and the delay is over
+     * @param barrier    the barrier to wait at
+     * @param delayNanos the delay between passing the gate and calling the task, in nanoseconds
+     * @param context    the context of the racer, or null
+     */
+    GatedTask(Callable<T> callable, Barrier barrier, long delayNanos, RaceContext context) {
+        this(callable, barrier, delayNanos, context, null, null);
+    }
+
+    /**
+     * Constructs a new GatedTask for the given callable and barrier with the given racer hooks. The setup runs
+     * before the racer arrives at the start gate, the teardown runs by {@link #runTeardown()} after the task is
+     * completed, both on the racer thread and outside of the measured part of the race.
+     *
+     * @param callable   the task to call once the gate is opened and the delay is over
+     * @param barrier    the barrier to wait at
+     * @param delayNanos the delay between passing the gate and calling the task, in nanoseconds
+     * @param context    the context of the racer, or null
+     * @param setup      the hook to run before the start gate, or null
+     * @param teardown   the hook to run after the task, or null
+     */
+    GatedTask(Callable<T> callable, Barrier barrier, long delayNanos, RaceContext context,
+              RacerHook setup, RacerHook teardown) {
+        this.callable = callable;
+        this.barrier = barrier;
+        this.delayNanos = delayNanos;
+        this.context = context;
+        this.setup = setup;
+        this.teardown = teardown;
+    }
+
+    /**
+     * Runs the setup, waits at the start gate, waits the delay and calls the task. The teardown is not a part of
+     * the call, so it does not change the outcome of the racer nor when the racer is completed.
+     * If the setup fails, the racer does not hold back the others at the gate and its task is not called.
+     *
+     * @return the result of the task
+     * @throws Exception if the task or the setup fails
+     */
+    @Override
+    public T call() throws Exception {
+        runner = Thread.currentThread();
+        if (context != null) {
+            context.enter();
+        }
+        try {
+            runSetup();
+            isTearingDown = teardown != null;
+            releasedNanos = barrier.arriveAndAwaitRelease();
+            if (context != null) {
+                context.released(releasedNanos);
+            }
+            if (delayNanos > 0) {
+                delay(releasedNanos + delayNanos);
+            }
+            if (threadUsageProbe != null) {
+                threadUsageProbe.start();
+            }
+            RacerExecutionEvent event = null;
+            if (RaceEvents.isAvailable()) {
+                event = new RacerExecutionEvent();
+                event.begin();
+            }
+            startedNanos = System.nanoTime();
+            Throwable error = null;
+            try {
+                return callable.call();
+            } catch (Exception | Error e) {
+                error = e;
+                throw e;
+            } finally {
+                finishedNanos = System.nanoTime();
+                if (threadUsageProbe != null) {
+                    threadUsage = threadUsageProbe.stop();
+                }
+                commit(event, error);
+            }
+        } finally {
+            runner = null;
+            if (context != null) {
+                context.leave();
+            }
+        }
+    }
+
+    private void commit(RacerExecutionEvent event, Throwable error) {
+        if (event == null) {
+            return;
+        }
+        if (context == null) {
+            event.commit(null, 0, 0, false, error);
+        } else {
+            event.commit(context.key(), context.index(), context.iteration(), context.isWarmup(), error);
+        }
+    }
+
+    private void runSetup() throws Exception {
+        if (setup == null) {
+            return;
+        }
+        long setupStartedNanos = System.nanoTime();
+        try {
+            setup.accept(context);
+        } catch (Exception | Error e) {
+            barrier.latch();
+            throw e;
+        } finally {
+            setupNanos = System.nanoTime() - setupStartedNanos;
+        }
+    }
+
+    /**
+     * Runs the teardown on the current thread if the setup of the racer succeeded. Must be called by the racer
+     * thread once the task is completed, so the outcome of the task is already known. An error of the teardown is
+     * kept apart from the outcome and is returned by {@link #teardownError()}.
+     */
+    void runTeardown() {
+        if (!isTearingDown) {
+            return;
+        }
+        if (context != null) {
+            context.enter();
+        }
+        long teardownStartedNanos = System.nanoTime();
+        try {
+            teardown.accept(context);
+        } catch (Exception | Error e) {
+            teardownError = e;
+        } finally {
+            teardownNanos = System.nanoTime() - teardownStartedNanos;
+            if (context != null) {
+                context.leave();
+            }
+            isTearingDown = false;
+        }
+    }
+
+    /**
+     * Returns whether the task is completed, but its teardown is not finished yet.
+     *
+     * @return whether the teardown is pending or running
+     */
+    public boolean isTearingDown() {
+        return isTearingDown;
+    }
+
+    /**
+     * Waits until the given time. Long delays are parked, the last {@link #SPIN_NANOS} are spun to keep the delay
+     * precise. An interrupt ends the delay.
+     */
+    private static void delay(long untilNanos) {
+        long remaining;
+        while ((remaining = untilNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Returns whether a thread is running the task at the moment. A cancelled task can still be running
+     * if its thread ignores the interrupt.
+     *
+     * @return whether a thread is running the task at the moment
+     */
+    public boolean isRunning() {
+        return runner != null;
+    }
+
+    /**
+     * Returns the name of the thread which runs the task at the moment.
+     *
+     * @return the name of the thread which runs the task, or null if the task is not running
+     */
+    public String runnerName() {
+        Thread thread = runner;
+        return thread == null ? null : thread.getName();
+    }
+
+    /**
+     * Returns the delay between passing the gate and calling the task.
+     *
+     * @return the delay in nanoseconds
+     */
+    public long delayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Returns how long the setup hook was running.
+     *
+     * @return the time of the setup in nanoseconds, or 0 if there is no setup
+     */
+    public long setupNanos() {
+        return setupNanos;
+    }
+
+    /**
+     * Returns how long the teardown hook was running.
+     *
+     * @return the time of the teardown in nanoseconds, or 0 if there is no teardown or it is not finished yet
+     */
+    public long teardownNanos() {
+        return isTearingDown ? 0 : teardownNanos;
+    }
+
+    /**
+     * Returns the error of the teardown hook. It does not change the outcome of the task.
+     *
+     * @return the error of the teardown, or null if there is none or the teardown is not finished yet
+     */
+    public Throwable teardownError() {
+        return isTearingDown ? null : teardownError;
+    }
+
+    /**
+     * Returns what the racer thread did while it was running the task.
+     *
+     * @return the usage of the racer thread, or null if it is not measured or the task was not called
+     */
+    public ThreadUsage threadUsage() {
+        return threadUsage;
+    }
+
+    /**
+     * Makes the task measure the usage of its thread while the task is running. Must be called before the task
+     * is submitted to the executor.
+     */
+    void measureThreadUsage() {
+        threadUsageProbe = new ThreadUsageProbe();
+    }
+
+    /**
+     * Marks the task as submitted to the executor.
+     */
+    public void markQueued() {
+        queuedNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the time the task was submitted to the executor.
+     *
+     * @return the time the task was submitted to the executor, in nanoseconds
+     */
+    public long queuedNanos() {
+        return queuedNanos;
+    }
+
+    /**
+     * Returns the time the task passed the start gate.
+     *
+     * @return the time the task passed the start gate, in nanoseconds, or 0 if it did not pass the gate
+     */
+    public long releasedNanos() {
+        return releasedNanos;
+    }
+
+    /**
+     * Returns the time the task entered the callable.
+     *
+     * @return the time the task entered the callable, in nanoseconds, or 0 if it was not called
+     */
+    public long startedNanos() {
+        return startedNanos;
+    }
+
+    /**
+     * Returns the time the callable returned or failed.
+     *
+     * @return the time the callable returned or failed, in nanoseconds, or 0 if it was not called
+     */
+    public long finishedNanos() {
+        return finishedNanos;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.LatencyHistogram;
+import io.github.asinrus.race.core.domain.result.OpenLoopResult;
+import io.github.asinrus.race.core.domain.result.RaceStatistics;
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * This class represents a test suite for an open-loop race: the task is started on a schedule of arrivals, at
+ * a fixed rate or with Poisson arrivals, for a given time, no matter how long the started tasks take. The number
+ * of threads of the configuration is the number of racer threads the tasks run on, the timeout is how long the
+ * started tasks are awaited once the arrivals are over. The tasks which are not finished by then are counted as
+ * unfinished and their results are not recorded.
+ */
+public class OpenLoopTestSuit<T> implements RaceTestSuit {
+    private static final long PARK_MARGIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Configuration configuration;
+    private final Consumer<OpenLoopResult<T>> assertion;
+    private final Callable<T> task;
+    private final double ratePerSecond;
+    private final Long poissonSeed;
+    private final Duration duration;
+
+    private OpenLoopTestSuit(OpenLoopTestSuitBuilder<T> builder) {
+        this.configuration = builder.configuration;
+        this.assertion = builder.assertion;
+        this.task = builder.task;
+        this.ratePerSecond = builder.ratePerSecond;
+        this.poissonSeed = builder.poissonSeed;
+        this.duration = builder.duration;
+    }
+
+    /**
+     * Starts the task on the schedule of arrivals until the duration is over, waits for the started tasks and
+     * validates the result using the assertion.
+     */
+    @Override
+    public void go() {
+        Recording<T> recording = new Recording<>();
+        SplittableRandom random = poissonSeed == null ? null : new SplittableRandom(poissonSeed);
+        double meanGapNanos = 1e9 / ratePerSecond;
+        RaceEngine engine = configuration.executionEngine();
+        ExecutorService executor = engine.newExecutor(configuration.numThreads());
+        long arrivals = 0;
+        long maxDispatchLagNanos = 0;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        try {
+            double intendedOffsetNanos = 0;
+            while (true) {
+                long intendedNanos = startNanos + (long) intendedOffsetNanos;
+                if (intendedNanos - endNanos >= 0) {
+                    break;
+                }
+                waitUntil(intendedNanos);
+                long submittedNanos = System.nanoTime();
+                maxDispatchLagNanos = Math.max(maxDispatchLagNanos, submittedNanos - intendedNanos);
+                recording.pending.incrementAndGet();
+                executor.execute(() -> run(intendedNanos, submittedNanos, recording));
+                arrivals++;
+                intendedOffsetNanos += random == null
+                        ? meanGapNanos
+                        : -Math.log(1 - random.nextDouble()) * meanGapNanos;
+            }
+            awaitPending(recording.pending, Deadline.after(configuration.timeout()));
+        } finally {
+            recording.stop();
+            engine.shutdown(executor);
+        }
+        long durationNanos = Math.min(System.nanoTime(), endNanos) - startNanos;
+
+        assertion.accept(new OpenLoopResult<>(recording.statistics, recording.responseLatency, arrivals,
+                recording.unfinished, durationNanos, maxDispatchLagNanos));
+    }
+
+    private void run(long intendedNanos, long submittedNanos, Recording<T> recording) {
+        try {
+            if (recording.stopped) {
+                return;
+            }
+            long startedNanos = System.nanoTime();
+            T result = null;
+            Throwable error = null;
+            try {
+                result = task.call();
+            } catch (Throwable e) {
+                error = e;
+            }
+            long finishedNanos = System.nanoTime();
+            recording.record(new TaskExecutionResult<>(result, error, error != null,
+                    intendedNanos, submittedNanos, startedNanos, finishedNanos), finishedNanos - intendedNanos);
+        } finally {
+            recording.pending.decrementAndGet();
+        }
+    }
+
+    private static void waitUntil(long untilNanos) {
+        long remaining;
+        while ((remaining = untilNanos - System.nanoTime()) > 0) {
+            if (remaining > PARK_MARGIN_NANOS) {
+                LockSupport.parkNanos(remaining - PARK_MARGIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static void awaitPending(AtomicLong pending, Deadline deadline) {
+        while (pending.get() > 0 && !deadline.isExpired()) {
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+    }
+
+    /**
+     * The aggregates of an open-loop race. Once the race is stopped they do not change any more, so the tasks which
+     * are still running or queued after the timeout do not change the result while it is validated, and the queued
+     * tasks are dropped without being run.
+     */
+    private static final class Recording<T> {
+        private final RaceStatistics<T> statistics = new RaceStatistics<>();
+        private final LatencyHistogram responseLatency = new LatencyHistogram();
+        private final AtomicLong pending = new AtomicLong();
+        private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+        private volatile boolean stopped;
+        private long unfinished;
+
+        private void record(TaskExecutionResult<T> executionResult, long responseNanos) {
+            Lock lock = stopLock.readLock();
+            lock.lock();
+            try {
+                if (!stopped) {
+                    statistics.record(executionResult);
+                    responseLatency.record(responseNanos);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void stop() {
+            Lock lock = stopLock.writeLock();
+            lock.lock();
+            try {
+                stopped = true;
+                unfinished = pending.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * This class represents a builder for creating an OpenLoopTestSuit.
+     */
+    public static class OpenLoopTestSuitBuilder<T> {
+        private Configuration configuration = Configuration.defaultConfiguration();
+        private Consumer<OpenLoopResult<T>> assertion = (t) -> {
+        };
+        private final Callable<T> task;
+        private double ratePerSecond = 100;
+        private Long poissonSeed;
+        private Duration duration = Duration.ofSeconds(1);
+
+        public OpenLoopTestSuitBuilder(Callable<T> task) {
+            this.task = task;
+        }
+
+        /**
+         * @param configuration - configuration of execution - the number of racer threads, the engine and how long
+         *                      the started tasks are awaited once the arrivals are over
+         * @return link to builder
+         */
+        public OpenLoopTestSuitBuilder<T> withConfiguration(Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param ratePerSecond - how many tasks are started per second, evenly spaced
+         * @return link to builder
+         */
+        public OpenLoopTestSuitBuilder<T> atFixedRate(double ratePerSecond) {
+            this.ratePerSecond = checkRate(ratePerSecond);
+            this.poissonSeed = null;
+            return this;
+        }
+
+        /**
+         * @param ratePerSecond - how many tasks are started per second on average, with exponentially distributed
+         *                      gaps between the arrivals
+         * @param seed          - seed of the arrivals, the same seed gives the same schedule
+         * @return link to builder
+         */
+        public OpenLoopTestSuitBuilder<T> withPoissonArrivals(double ratePerSecond, long seed) {
+            this.ratePerSecond = checkRate(ratePerSecond);
+            this.poissonSeed = seed;
+            return this;
+        }
+
+        /**
+         * @param duration - time during which the tasks are started, 1 second by default
+         * @return link to builder
+         */
+        public OpenLoopTestSuitBuilder<T> forDuration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * @param assertion - assertion to validate the result once the started tasks are finished
+         * @return link to builder
+         */
+        public OpenLoopTestSuitBuilder<T> withAssertion(Consumer<OpenLoopResult<T>> assertion) {
+            this.assertion = assertion;
+            return this;
+        }
+
+        /**
+         * Method to run test
+         *
+         * @return testSuit
+         */
+        public OpenLoopTestSuit<T> go() {
+            OpenLoopTestSuit<T> openLoopTestSuit = new OpenLoopTestSuit<>(this);
+            openLoopTestSuit.go();
+            return openLoopTestSuit;
+        }
+
+        private static double checkRate(double ratePerSecond) {
+            if (!(ratePerSecond > 0)) {
+                throw new IllegalArgumentException("Rate must be positive, but was " + ratePerSecond);
+            }
+            return ratePerSecond;
+        }
+    }
+}
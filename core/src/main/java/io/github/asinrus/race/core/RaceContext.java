@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.time.Duration;
+
+/**
+ * This class represents the context of a racer, which the code of the racer task can reach from the racer thread.
+ * It tells the racer which one it is - its key, index and round - without closures or shared counters. Named
+ * checkpoints let the racers line up not only at the start, but at any point inside their tasks, for example
+ * between reading and writing a row. Outside of a race the methods of this class do nothing, so checkpoints can stay
+ * in the code under test.
+ */
+public final class RaceContext {
+    private static final ThreadLocal<RaceContext> CURRENT = new ThreadLocal<>();
+
+    private final Checkpoints checkpoints;
+    private final Object key;
+    private final int index;
+    private final int iteration;
+    private final boolean isWarmup;
+    private long releasedNanos;
+    private Object attachment;
+
+    /**
+     * Constructs a new RaceContext of a racer and registers it at the checkpoints of the round.
+     *
+     * @param checkpoints the checkpoints of the round
+     * @param key         the key of the racer task
+     * @param index       the index of the racer, from 0 to the number of racers
+     * @param iteration   the number of the round, starting from 0
+     * @param isWarmup    whether the round is a warm-up round
+     */
+    RaceContext(Checkpoints checkpoints, Object key, int index, int iteration, boolean isWarmup) {
+        this.checkpoints = checkpoints;
+        this.key = key;
+        this.index = index;
+        this.iteration = iteration;
+        this.isWarmup = isWarmup;
+        checkpoints.register(this);
+    }
+
+    /**
+     * Returns the context of the racer which runs on the current thread.
+     *
+     * @return the context of the current racer, or null if it is not called from a racer
+     */
+    public static RaceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the key of the racer task. For races of a single task the key is the index of the racer.
+     *
+     * @param <K> key type of the race
+     * @return the key of the racer task
+     */
+    @SuppressWarnings("unchecked")
+    public <K> K key() {
+        return (K) key;
+    }
+
+    /**
+     * Returns the index of the racer. The indexes of the racers of a round go from 0 to the number of racers,
+     * in the natural order of comparable keys, otherwise in the order of the string forms of the keys.
+     *
+     * @return the index of the racer
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns the number of the round the racer runs in.
+     *
+     * @return the number of the round, starting from 0
+     */
+    public int iteration() {
+        return iteration;
+    }
+
+    /**
+     * Returns whether the racer runs in a warm-up round, whose results are thrown away. Warm-up rounds are
+     * numbered separately from the measured rounds.
+     *
+     * @return whether the racer runs in a warm-up round
+     */
+    public boolean isWarmup() {
+        return isWarmup;
+    }
+
+    /**
+     * Returns the time the racer passed the start gate.
+     *
+     * @return the {@link System#nanoTime()} the racer passed the start gate, or 0 if it has not passed it yet
+     */
+    public long releasedNanos() {
+        return releasedNanos;
+    }
+
+    /**
+     * Attaches the given object to the racer, for example the connection opened by the setup hook.
+     *
+     * @param attachment the object to attach
+     */
+    public void attach(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    /**
+     * Returns the object attached to the racer.
+     *
+     * @param <A> type of the attached object
+     * @return the object attached to the racer, or null if nothing is attached
+     */
+    @SuppressWarnings("unchecked")
+    public <A> A attachment() {
+        return (A) attachment;
+    }
+
+    /**
+     * Waits at the named checkpoint until every racer which is still running has arrived at it. A racer waits
+     * not longer than the rest of the timeout of the round. Every checkpoint is expected to be passed once per round.
+     *
+     * @param name the name of the checkpoint
+     * @return true if every running racer arrived, false if the waiting time elapsed, or if it is not called
+     * from a racer
+     */
+    public static boolean checkpoint(String name) {
+        RaceContext context = CURRENT.get();
+        return context != null && context.checkpoints.arriveAndAwait(context, name);
+    }
+
+    /**
+     * Waits at the named checkpoint until every racer which is still running has arrived at it, or the given time
+     * elapses, but not longer than the rest of the timeout of the round. When the time elapses the racer goes on.
+     *
+     * @param name    the name of the checkpoint
+     * @param timeout the maximum time to wait
+     * @return true if every running racer arrived, false if the waiting time elapsed, or if it is not called
+     * from a racer
+     */
+    public static boolean checkpoint(String name, Duration timeout) {
+        RaceContext context = CURRENT.get();
+        return context != null && context.checkpoints.arriveAndAwait(context, name, timeout);
+    }
+
+    /**
+     * Marks the named checkpoint as passed by the current racer without waiting, for racers which take another
+     * path through the code and never reach the checkpoint.
+     *
+     * @param name the name of the checkpoint
+     */
+    public static void skip(String name) {
+        RaceContext context = CURRENT.get();
+        if (context != null) {
+            context.checkpoints.skip(context, name);
+        }
+    }
+
+    /**
+     * Binds this context to the current thread.
+     */
+    void enter() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Records the time the racer passed the start gate.
+     *
+     * @param releasedNanos the time the racer passed the start gate
+     */
+    void released(long releasedNanos) {
+        this.releasedNanos = releasedNanos;
+    }
+
+    /**
+     * Unbinds this context from the current thread and deregisters the racer from the checkpoints.
+     */
+    void leave() {
+        CURRENT.remove();
+        checkpoints.deregister(this);
+    }
+}
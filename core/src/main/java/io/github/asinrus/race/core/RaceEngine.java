@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * This interface represents an execution engine - the threads the racers run on. {@link BoundRaceExecutorImpl}
+ * submits the racer tasks of every round to the executor of the engine, so the start gate and the timeouts work
+ * the same way on every engine. The built-in engines are listed in {@link ExecutionEngine}.
+ */
+public interface RaceEngine {
+
+    /**
+     * Returns the name of the engine which is reported in the result of the race.
+     *
+     * @return the name of the engine
+     */
+    String name();
+
+    /**
+     * Returns an executor to run the given number of racers. All racers of a round wait for each other at the
+     * start gate, so the executor must be able to run that many tasks at the same time.
+     *
+     * @param numThreads the number of racers which run at the same time
+     * @return an executor to run the racers
+     */
+    ExecutorService newExecutor(int numThreads);
+
+    /**
+     * Releases the executor once the race is over. The racers of the race are already completed or cancelled.
+     *
+     * @param executor the executor returned by {@link #newExecutor(int)}
+     */
+    default void shutdown(ExecutorService executor) {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns an engine which runs the racers on platform threads created by the given factory, for example
+     * to give the threads names or to set up a logging context.
+     *
+     * @param threadFactory the factory to create the racer threads
+     * @return an engine which runs the racers on threads created by the given factory
+     */
+    static RaceEngine platformThreads(ThreadFactory threadFactory) {
+        return new RaceEngine() {
+            @Override
+            public String name() {
+                return ExecutionEngine.PLATFORM_THREADS.name();
+            }
+
+            @Override
+            public ExecutorService newExecutor(int numThreads) {
+                return Executors.newFixedThreadPool(numThreads, threadFactory);
+            }
+        };
+    }
+
+    /**
+     * Returns an engine which runs the racers on the given executor. The executor is owned by the caller and is not
+     * shut down when the race is over.
+     * <p>
+     * All racers of a round wait for each other at the start gate, so the executor must run at least as many tasks
+     * at the same time as there are racers, otherwise the round times out at the gate. A {@link ThreadPoolExecutor}
+     * queues the tasks beyond its core pool size and grows past it only when the queue is full, so it is rejected
+     * when its core pool size is less than the number of racers, or its maximum pool size if the queue has no
+     * capacity, like a {@link java.util.concurrent.SynchronousQueue}. Other executors can not be checked and are
+     * trusted by the caller.
+     *
+     * @param name     the name of the engine which is reported in the result of the race
+     * @param executor the executor to run the racers on, able to run every racer of a round at the same time
+     * @return an engine which runs the racers on the given executor
+     */
+    static RaceEngine executor(String name, ExecutorService executor) {
+        return new RaceEngine() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public ExecutorService newExecutor(int numThreads) {
+                if (executor instanceof ThreadPoolExecutor) {
+                    ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+                    int poolSize = pool.getQueue().remainingCapacity() == 0
+                            ? pool.getMaximumPoolSize()
+                            : pool.getCorePoolSize();
+                    if (poolSize < numThreads) {
+                        throw new IllegalArgumentException("Executor of engine " + name + " runs at most " + poolSize
+                                + " tasks at the same time, but " + numThreads
+                                + " racers wait for each other at the start gate");
+                    }
+                }
+                return executor;
+            }
+
+            @Override
+            public void shutdown(ExecutorService executor) {
+                // the executor belongs to the caller
+            }
+        };
+    }
+}
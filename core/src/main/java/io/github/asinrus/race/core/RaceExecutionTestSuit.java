@@ -13,23 +13,44 @@
 package io.github.asinrus.race.core;
 
 import io.github.asinrus.race.core.domain.result.CommonExecutionResult;
+import io.github.asinrus.race.core.domain.result.ComplexExecutionResult;
+import io.github.asinrus.race.core.domain.result.RaceStatistics;
+import io.github.asinrus.race.core.domain.result.SweepLevel;
+import io.github.asinrus.race.core.domain.result.SweepResult;
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static io.github.asinrus.race.core.RaceTestSuitRegistry.race;
-
 /**
  * This class represents a test suite for concurrent execution of a single task.
  */
 public class RaceExecutionTestSuit<T> implements RaceTestSuit {
     private final Configuration configuration;
     private final Consumer<CommonExecutionResult<T>> assertion;
-    private final Callable<T> task;
+    private final Consumer<CommonExecutionResult<T>> aggregateAssertion;
+    private final Consumer<RaceStatistics<T>> statisticsAssertion;
+    private final Consumer<TaskExecutionResult<T>> incrementalAssertion;
+    private final Predicate<CommonExecutionResult<T>> stopPredicate;
+    private final int noNewOutcomeRounds;
+    private final RacerHook setup;
+    private final RacerHook teardown;
+    private final IntFunction<Callable<T>> taskFactory;
+    private final ConcurrencySweep sweep;
+    private final Consumer<SweepResult> sweepAssertion;
+    private int rounds;
+    private StopReason stopReason;
+    private int warmupRounds;
+    private long warmupNanos;
 
     /**
      * Constructs a new RaceExecutionTestSuit with the given configuration, assertion, and task.
@@ -39,29 +60,154 @@ public class RaceExecutionTestSuit<T> implements RaceTestSuit {
      * @param task          the task to execute
      */
     public RaceExecutionTestSuit(Configuration configuration, Consumer<CommonExecutionResult<T>> assertion, Callable<T> task) {
-        this.configuration = configuration;
-        this.assertion = assertion;
-        this.task = task;
+        this(new RaceExecutionTestSuitBuilder<>(task)
+                .withConfiguration(configuration)
+                .withAssertion(assertion));
+    }
+
+    private RaceExecutionTestSuit(RaceExecutionTestSuitBuilder<T> builder) {
+        this.configuration = builder.configuration;
+        this.assertion = builder.assertion;
+        this.aggregateAssertion = builder.aggregateAssertion;
+        this.statisticsAssertion = builder.statisticsAssertion;
+        this.incrementalAssertion = builder.incrementalAssertion;
+        this.stopPredicate = builder.stopPredicate;
+        this.noNewOutcomeRounds = builder.noNewOutcomeRounds;
+        this.setup = builder.setup;
+        this.teardown = builder.teardown;
+        this.taskFactory = builder.taskFactory;
+        this.sweep = builder.sweep;
+        this.sweepAssertion = builder.sweepAssertion;
     }
 
     /**
-     * Executes the task concurrently and validates the result using the assertion.
+     * Executes the task concurrently and validates the result using the assertion. In sweep mode the race is run at
+     * every concurrency level of the sweep, the assertions validate the rounds of every level and the sweep assertion
+     * gets the table of the levels at the end.
      */
     @Override
     public void go() {
+        if (sweep == null) {
+            var suit = race(configuration, complexExecutionResult -> {
+            }, null);
+            rounds = suit.rounds();
+            stopReason = suit.stopReason();
+            warmupRounds = suit.warmupRounds();
+            warmupNanos = suit.warmupNanos();
+            return;
+        }
+
+        List<SweepLevel> levels = new ArrayList<>();
+        rounds = 0;
+        warmupRounds = 0;
+        warmupNanos = 0;
+        for (int concurrency : sweep.levels()) {
+            long[] racingNanos = new long[1];
+            List<RaceStatistics<T>> statistics = new ArrayList<>(1);
+            var suit = race(configuration.toBuilder().setNumThreads(concurrency).build(),
+                    complexExecutionResult -> racingNanos[0] += racingNanos(complexExecutionResult),
+                    statistics::add);
+            RaceStatistics<T> levelStatistics = statistics.get(0);
+            levels.add(new SweepLevel(concurrency, suit.rounds(), levelStatistics.successes(),
+                    levelStatistics.failures(), racingNanos[0], levelStatistics.successLatency()));
+            rounds += suit.rounds();
+            stopReason = suit.stopReason();
+            warmupRounds += suit.warmupRounds();
+            warmupNanos += suit.warmupNanos();
+        }
+        sweepAssertion.accept(new SweepResult(levels));
+    }
+
+    private static long racingNanos(ComplexExecutionResult<?, ?> complexExecutionResult) {
+        long firstReleasedNanos = Long.MAX_VALUE;
+        long lastFinishedNanos = Long.MIN_VALUE;
+        for (TaskExecutionResult<?> taskExecutionResult : complexExecutionResult.resultMap().values()) {
+            if (taskExecutionResult.finishedNanos() != 0) {
+                firstReleasedNanos = Math.min(firstReleasedNanos, taskExecutionResult.releasedNanos());
+                lastFinishedNanos = Math.max(lastFinishedNanos, taskExecutionResult.finishedNanos());
+            }
+        }
+        return firstReleasedNanos <= lastFinishedNanos ? lastFinishedNanos - firstReleasedNanos : 0;
+    }
+
+    private BoundRaceTestSuit<Integer, T> race(Configuration configuration,
+                                               Consumer<ComplexExecutionResult<Integer, T>> roundObserver,
+                                               Consumer<RaceStatistics<T>> statisticsObserver) {
         Map<Integer, Callable<T>> executionTasks = IntStream.range(0, configuration.numThreads())
                 .boxed()
                 .collect(Collectors
-                        .toMap(Function.identity(), i -> task));
+                        .toMap(Function.identity(), taskFactory::apply));
 
-        race(executionTasks)
-                .withTimeout(configuration.timeout())
+        var suitBuilder = RaceTestSuitRegistry.race(executionTasks)
+                .withConfiguration(configuration)
+                .withSetup(setup)
+                .withTeardown(teardown)
+                .withIncrementalAssertion((index, taskExecutionResult) ->
+                        incrementalAssertion.accept(taskExecutionResult))
                 .withAssertion(complexExecutionResult -> {
+                            roundObserver.accept(complexExecutionResult);
                             CommonExecutionResult<T> commonExecutionResult = CommonExecutionResult.parse(complexExecutionResult);
                             assertion.accept(commonExecutionResult);
                         }
-                )
-                .go();
+                );
+        if (aggregateAssertion != null) {
+            suitBuilder.withAggregateAssertion(rounds ->
+                    aggregateAssertion.accept(CommonExecutionResult.parse(rounds)));
+        }
+        if (statisticsAssertion != null || statisticsObserver != null) {
+            suitBuilder.withStatisticsAssertion(statistics -> {
+                if (statisticsObserver != null) {
+                    statisticsObserver.accept(statistics);
+                }
+                if (statisticsAssertion != null) {
+                    statisticsAssertion.accept(statistics);
+                }
+            });
+        }
+        if (stopPredicate != null) {
+            suitBuilder.until(complexExecutionResult ->
+                    stopPredicate.test(CommonExecutionResult.parse(complexExecutionResult)));
+        }
+        if (noNewOutcomeRounds > 0) {
+            suitBuilder.untilNoNewOutcomeFor(noNewOutcomeRounds);
+        }
+        return suitBuilder.go();
+    }
+
+    /**
+     * Returns the number of warm-up rounds run by the last {@link #go()}.
+     *
+     * @return the number of warm-up rounds run
+     */
+    public int warmupRounds() {
+        return warmupRounds;
+    }
+
+    /**
+     * Returns how long the warm-up of the last {@link #go()} took.
+     *
+     * @return the time of the warm-up in nanoseconds
+     */
+    public long warmupNanos() {
+        return warmupNanos;
+    }
+
+    /**
+     * Returns the number of rounds run by the last {@link #go()}.
+     *
+     * @return the number of rounds run
+     */
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns why the last {@link #go()} stopped starting new rounds.
+     *
+     * @return why the rounds stopped, or null if the race has not been run
+     */
+    public StopReason stopReason() {
+        return stopReason;
     }
 
     /**
@@ -69,16 +215,34 @@ public class RaceExecutionTestSuit<T> implements RaceTestSuit {
      */
     public static class RaceExecutionTestSuitBuilder<T> {
         private Configuration configuration = Configuration.defaultConfiguration();
-        private final Callable<T> task;
+        private final IntFunction<Callable<T>> taskFactory;
         private Consumer<CommonExecutionResult<T>> assertion = (t) -> {
         };
+        private Consumer<CommonExecutionResult<T>> aggregateAssertion;
+        private Consumer<RaceStatistics<T>> statisticsAssertion;
+        private Consumer<TaskExecutionResult<T>> incrementalAssertion = (t) -> {
+        };
+        private Predicate<CommonExecutionResult<T>> stopPredicate;
+        private int noNewOutcomeRounds;
+        private RacerHook setup;
+        private RacerHook teardown;
+        private ConcurrencySweep sweep;
+        private Consumer<SweepResult> sweepAssertion = (t) -> {
+        };
 
         public RaceExecutionTestSuitBuilder(Callable<T> task) {
-            this.task = task;
+            this.taskFactory = index -> task;
+        }
+
+        /**
+         * @param taskFactory - factory which creates the task of a racer from the index of the racer
+         */
+        public RaceExecutionTestSuitBuilder(IntFunction<Callable<T>> taskFactory) {
+            this.taskFactory = taskFactory;
         }
 
         /**
-         * @param configuration - configuration of execution - how many threads, timeout
+         * @param configuration - configuration of execution - how many threads, timeout, gate mode
          * @return link to builder
          */
         public RaceExecutionTestSuitBuilder<T> withConfiguration(Configuration configuration) {
@@ -87,6 +251,127 @@ public class RaceExecutionTestSuit<T> implements RaceTestSuit {
         }
 
         /**
+         * @param delaySchedule - schedule of delays between passing the start gate and calling the tasks
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> withDelaySchedule(DelaySchedule delaySchedule) {
+            this.configuration = configuration.toBuilder()
+                    .setDelaySchedule(delaySchedule)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param setup - hook which runs on the racer thread before the racer arrives at the start gate, for example
+         *              to open a connection and attach it to the racer context
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> withSetup(RacerHook setup) {
+            this.setup = setup;
+            return this;
+        }
+
+        /**
+         * @param teardown - hook which runs on the racer thread after the task is completed, for example to close
+         *                 the connection attached to the racer context
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> withTeardown(RacerHook teardown) {
+            this.teardown = teardown;
+            return this;
+        }
+
+        /**
+         * @param warmupIterations - how many warm-up rounds to run on the same threads before the race, their results
+         *                         are thrown away
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> warmUp(int warmupIterations) {
+            this.configuration = configuration.toBuilder()
+                    .setWarmupIterations(warmupIterations)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param warmupDuration - time during which warm-up rounds are started before the race, their results are
+         *                       thrown away
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> warmUpFor(Duration warmupDuration) {
+            this.configuration = configuration.toBuilder()
+                    .setWarmupDuration(warmupDuration)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param iterations - how many race rounds to run, the racer threads are reused between the rounds
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> repeat(int iterations) {
+            this.configuration = configuration.toBuilder()
+                    .setIterations(iterations)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param duration - time during which new race rounds are started, the racer threads are reused between
+         *                 the rounds
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> forDuration(Duration duration) {
+            this.configuration = configuration.toBuilder()
+                    .setIterationsDuration(duration)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param stopPredicate - predicate which stops the rounds as soon as it matches the result of a round.
+         *                      The budget of rounds is set by {@link #repeat(int)} or {@link #forDuration(Duration)}
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> until(Predicate<CommonExecutionResult<T>> stopPredicate) {
+            this.stopPredicate = stopPredicate;
+            return this;
+        }
+
+        /**
+         * @param rounds - stops the rounds when no new outcome signature appeared for this number of rounds.
+         *               The budget of rounds is set by {@link #repeat(int)} or {@link #forDuration(Duration)}
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> untilNoNewOutcomeFor(int rounds) {
+            if (rounds < 1) {
+                throw new IllegalArgumentException("Rounds must be positive, but was " + rounds);
+            }
+            this.noNewOutcomeRounds = rounds;
+            return this;
+        }
+
+        /**
+         * @param sweep - concurrency levels to run the race at, one after another. The number of threads of the
+         *              configuration is replaced by the level, the other settings apply to every level
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> sweep(ConcurrencySweep sweep) {
+            this.sweep = sweep;
+            return this;
+        }
+
+        /**
+         * @param sweepAssertion - assertion to validate the table of the concurrency levels once the sweep is over
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> withSweepAssertion(Consumer<SweepResult> sweepAssertion) {
+            this.sweepAssertion = sweepAssertion;
+            return this;
+        }
+
+        /**
+         * @param assertion - assertion to validate the result of every round
          * @return link to builder
          */
         public RaceExecutionTestSuitBuilder<T> withAssertion(Consumer<CommonExecutionResult<T>> assertion) {
@@ -94,14 +379,48 @@ public class RaceExecutionTestSuit<T> implements RaceTestSuit {
             return this;
         }
 
+        /**
+         * @param aggregateAssertion - assertion to validate the combined results of all rounds once the last round
+         *                           is over
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> withAggregateAssertion(
+                Consumer<CommonExecutionResult<T>> aggregateAssertion) {
+            this.aggregateAssertion = aggregateAssertion;
+            return this;
+        }
+
+        /**
+         * @param statisticsAssertion - assertion to validate the streaming aggregate of all rounds once the last round
+         *                            is over. Unlike the aggregate assertion it keeps constant memory, so it suits
+         *                            races of millions of rounds
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> withStatisticsAssertion(
+                Consumer<RaceStatistics<T>> statisticsAssertion) {
+            this.statisticsAssertion = statisticsAssertion;
+            return this;
+        }
+
+        /**
+         * @param incrementalAssertion - assertion to validate the result of every task as soon as the task is
+         *                             completed. If it fails, the remaining tasks are cancelled and the race is
+         *                             aborted with its error
+         * @return link to builder
+         */
+        public RaceExecutionTestSuitBuilder<T> withIncrementalAssertion(
+                Consumer<TaskExecutionResult<T>> incrementalAssertion) {
+            this.incrementalAssertion = incrementalAssertion;
+            return this;
+        }
+
         /**
          * Method to run test
          *
          * @return testSuit
          */
         public RaceExecutionTestSuit<T> go() {
-            RaceExecutionTestSuit<T> concurrentExecutionTestSuit =
-                    new RaceExecutionTestSuit<>(configuration, assertion, task);
+            RaceExecutionTestSuit<T> concurrentExecutionTestSuit = new RaceExecutionTestSuit<>(this);
             concurrentExecutionTestSuit.go();
             return concurrentExecutionTestSuit;
         }
@@ -0,0 +1,28 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+/**
+ * This enum represents the phases of a race round which wait for the racers.
+ */
+public enum RacePhase {
+    /**
+     * Waiting until all racers have arrived at the start gate.
+     */
+    GATE,
+
+    /**
+     * Waiting until all racers have completed their tasks.
+     */
+    EXECUTION
+}
@@ -14,7 +14,10 @@ package io.github.asinrus.race.core;
 
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * This class provides static methods to create test suits for race conditions.
@@ -32,6 +35,19 @@ public class RaceTestSuitRegistry {
         return new RaceExecutionTestSuit.RaceExecutionTestSuitBuilder<>(action);
     }
 
+    /**
+     * Returns a new RaceExecutionTestSuitBuilder which gives every racer its own action, created by the given
+     * factory from the index of the racer.
+     *
+     * @param actionFactory the factory which creates the action of a racer from its index
+     * @param <T>           operation result type
+     * @return a new RaceExecutionTestSuitBuilder for the actions created by the given factory
+     */
+    public static <T> RaceExecutionTestSuit.RaceExecutionTestSuitBuilder<T> race(
+            IntFunction<Callable<T>> actionFactory) {
+        return new RaceExecutionTestSuit.RaceExecutionTestSuitBuilder<>(actionFactory);
+    }
+
     /**
      * Returns a new BoundRaceTestSuitBuilder for the given tasks.
      *
@@ -44,7 +60,59 @@ public class RaceTestSuitRegistry {
         return new BoundRaceTestSuit.BoundRaceTestSuitBuilder<>(tasks);
     }
 
+    /**
+     * Returns a new RoleRaceTestSuitBuilder with the given role. More roles are added by
+     * {@link RoleRaceTestSuit.RoleRaceTestSuitBuilder#role(String, int, Callable)}.
+     *
+     * @param role   the name of the role
+     * @param count  how many racers of the role run at the same time
+     * @param action the action of the racers of the role
+     * @param <T>    operation result type
+     * @return a new RoleRaceTestSuitBuilder with the given role
+     */
+    public static <T> RoleRaceTestSuit.RoleRaceTestSuitBuilder<T> role(String role, int count, Callable<T> action) {
+        return new RoleRaceTestSuit.RoleRaceTestSuitBuilder<T>().role(role, count, action);
+    }
+
+    /**
+     * Returns a new OpenLoopTestSuitBuilder for the given action. The action is started on a schedule of arrivals
+     * instead of by a fixed number of racers.
+     *
+     * @param action the action to start on every arrival
+     * @param <T>    operation result type
+     * @return a new OpenLoopTestSuitBuilder for the given action
+     */
+    public static <T> OpenLoopTestSuit.OpenLoopTestSuitBuilder<T> arrivals(Callable<T> action) {
+        return new OpenLoopTestSuit.OpenLoopTestSuitBuilder<>(action);
+    }
+
+    /**
+     * Returns a new SoakTestSuitBuilder for the given action. Every racer calls the action in a loop until the end
+     * of the soak.
+     *
+     * @param action the action the racers call in a loop
+     * @param <T>    operation result type
+     * @return a new SoakTestSuitBuilder for the given action
+     */
+    public static <T> SoakTestSuit.SoakTestSuitBuilder<T> soak(Callable<T> action) {
+        return new SoakTestSuit.SoakTestSuitBuilder<>(action);
+    }
+
     public static <K, T> FutureRaceTestSuit.FutureTestSuitBuilder<K, T> raceByFutures(Map<K, Future<T>> tasks) {
         return new FutureRaceTestSuit.FutureTestSuitBuilder<>(tasks);
     }
+
+    /**
+     * Returns a new AsyncRaceTestSuitBuilder for the given asynchronous operations. Every supplier is invoked at
+     * the start gate and its stage is awaited without blocking a thread.
+     *
+     * @param suppliers the suppliers which start the operations
+     * @param <T>       operation result type
+     * @param <K>       key type to specify how to access to the operation result
+     * @return a new AsyncRaceTestSuitBuilder for the given operations
+     */
+    public static <K, T> AsyncRaceTestSuit.AsyncRaceTestSuitBuilder<K, T> raceAsync(
+            Map<K, Supplier<CompletionStage<T>>> suppliers) {
+        return new AsyncRaceTestSuit.AsyncRaceTestSuitBuilder<>(suppliers);
+    }
 }
\ No newline at end of file
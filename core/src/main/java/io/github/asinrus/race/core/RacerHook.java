@@ -0,0 +1,29 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+/**
+ * This interface represents a hook which runs on the racer thread outside of the measured part of the race,
+ * for example to open a connection before the start gate and to close it after the task is completed.
+ */
+@FunctionalInterface
+public interface RacerHook {
+
+    /**
+     * Runs the hook for the given racer.
+     *
+     * @param context the context of the racer, the hook can attach a resource to it
+     * @throws Exception if the hook fails
+     */
+    void accept(RaceContext context) throws Exception;
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.util.Objects;
+
+/**
+ * This class represents the key of a racer in a race of roles - the name of the role and the index of the racer
+ * within the role.
+ */
+public final class RoleKey {
+    private final String role;
+    private final int index;
+
+    /**
+     * Constructs a new RoleKey with the given role and index.
+     *
+     * @param role  the name of the role
+     * @param index the index of the racer within the role, from 0 to the number of racers of the role
+     */
+    public RoleKey(String role, int index) {
+        this.role = role;
+        this.index = index;
+    }
+
+    /**
+     * Returns the name of the role.
+     *
+     * @return the name of the role
+     */
+    public String role() {
+        return role;
+    }
+
+    /**
+     * Returns the index of the racer within the role.
+     *
+     * @return the index of the racer within the role
+     */
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RoleKey roleKey = (RoleKey) o;
+        return index == roleKey.index && role.equals(roleKey.role);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(role, index);
+    }
+
+    @Override
+    public String toString() {
+        return role + "#" + index;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.ComplexExecutionResult;
+import io.github.asinrus.race.core.domain.result.RaceStatistics;
+import io.github.asinrus.race.core.domain.result.RoleExecutionResult;
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static io.github.asinrus.race.core.RaceTestSuitRegistry.race;
+
+/**
+ * This class represents a test suite for a race of roles - groups of racers which run the same task, for example
+ * 200 readers against 5 writers. The results are aggregated per role, so the result does not grow with the number
+ * of racers. The results of the individual racers are only passed to the racer assertion, if one is set.
+ */
+public class RoleRaceTestSuit<T> implements RaceTestSuit {
+    private final Configuration configuration;
+    private final Map<String, Role<T>> roles;
+    private final Consumer<RoleExecutionResult<T>> assertion;
+    private final Consumer<ComplexExecutionResult<RoleKey, T>> racerAssertion;
+    private final RacerHook setup;
+    private final RacerHook teardown;
+    private final Predicate<RoleExecutionResult<T>> stopPredicate;
+    private int rounds;
+    private StopReason stopReason;
+    private int warmupRounds;
+    private long warmupNanos;
+
+    private RoleRaceTestSuit(RoleRaceTestSuitBuilder<T> builder) {
+        this.configuration = builder.configuration;
+        this.roles = new LinkedHashMap<>(builder.roles);
+        this.assertion = builder.assertion;
+        this.racerAssertion = builder.racerAssertion;
+        this.setup = builder.setup;
+        this.teardown = builder.teardown;
+        this.stopPredicate = builder.stopPredicate;
+    }
+
+    /**
+     * Executes the racers of all roles concurrently and validates the aggregates of the roles using the assertion
+     * once the last round is over. The racer assertion, if any, validates the results of the individual racers of
+     * every round. Without a racer assertion the results are recorded straight into the aggregates of the roles,
+     * and no result of a round is built. The rounds stop early when the stop predicate matches the aggregates of the
+     * roles after a round. Warm-up rounds, if configured, run on the same threads before the first round and their
+     * results are thrown away.
+     */
+    @Override
+    public void go() {
+        Map<String, RaceStatistics<T>> statistics = new LinkedHashMap<>();
+        roles.keySet().forEach(name -> statistics.put(name, new RaceStatistics<>()));
+        RoleExecutionResult<T> roleExecutionResult = new RoleExecutionResult<>(statistics);
+        if (racerAssertion == null) {
+            raceByRoles(statistics, roleExecutionResult);
+        } else {
+            raceByRacers(statistics, roleExecutionResult);
+        }
+        assertion.accept(roleExecutionResult);
+    }
+
+    private void raceByRacers(Map<String, RaceStatistics<T>> statistics, RoleExecutionResult<T> roleExecutionResult) {
+        Map<RoleKey, Callable<T>> racers = new LinkedHashMap<>();
+        roles.forEach((name, role) -> {
+            for (int index = 0; index < role.count; index++) {
+                racers.put(new RoleKey(name, index), role.task);
+            }
+        });
+
+        var suitBuilder = race(racers)
+                .withConfiguration(configuration)
+                .withSetup(setup)
+                .withTeardown(teardown)
+                .withAssertion(complexExecutionResult -> {
+                    complexExecutionResult.resultMap()
+                            .forEach((key, result) -> statistics.get(key.role()).record(result));
+                    statistics.values().forEach(RaceStatistics::recordRound);
+                    racerAssertion.accept(complexExecutionResult);
+                });
+        if (stopPredicate != null) {
+            suitBuilder.until(complexExecutionResult -> stopPredicate.test(roleExecutionResult));
+        }
+        var suit = suitBuilder.go();
+        rounds = suit.rounds();
+        stopReason = suit.stopReason();
+        warmupRounds = suit.warmupRounds();
+        warmupNanos = suit.warmupNanos();
+    }
+
+    /**
+     * Runs the rounds with the racers indexed in the order of the roles, so the role of a racer is found by its
+     * index and its result goes to the aggregate of the role as soon as it is completed.
+     */
+    @SuppressWarnings("unchecked")
+    private void raceByRoles(Map<String, RaceStatistics<T>> statistics, RoleExecutionResult<T> roleExecutionResult) {
+        List<Role<T>> roleList = new ArrayList<>(roles.values());
+        String[] roleNames = roles.keySet().toArray(new String[0]);
+        RaceStatistics<T>[] roleStatistics = (RaceStatistics<T>[]) statistics.values()
+                .toArray(new RaceStatistics<?>[0]);
+        int[] roleEnds = new int[roleList.size()];
+        int parties = 0;
+        for (int role = 0; role < roleList.size(); role++) {
+            parties += roleList.get(role).count;
+            roleEnds[role] = parties;
+        }
+        Configuration raceConfiguration = configuration.toBuilder()
+                .setNumThreads(parties)
+                .build();
+
+        RoundLoop<T> roundLoop = new RoundLoop<>(raceConfiguration, index -> {
+            int role = roleOf(roleEnds, index);
+            return new RoleKey(roleNames[role], index - (role == 0 ? 0 : roleEnds[role - 1]));
+        });
+        try {
+            roundLoop.run((barrier, deadline, iteration, isWarmup, scheduleSeed) -> tasksOf(raceConfiguration,
+                    roleList, roleNames, barrier, deadline, iteration, isWarmup, scheduleSeed),
+                    new RoundLoop.Rounds<T>() {
+                        @Override
+                        public void start(long scheduleSeed) {
+                        }
+
+                        @Override
+                        public void accept(TaskExecutionResult<T> result, int index) {
+                            roleStatistics[roleOf(roleEnds, index)].record(result);
+                        }
+
+                        @Override
+                        public StopReason complete(Barrier barrier, Map<Integer, String> unresponsiveThreads) {
+                            for (RaceStatistics<T> roundStatistics : roleStatistics) {
+                                roundStatistics.recordRound();
+                            }
+                            return stopPredicate != null && stopPredicate.test(roleExecutionResult)
+                                    ? StopReason.PREDICATE
+                                    : null;
+                        }
+                    });
+        } finally {
+            rounds = roundLoop.rounds();
+            stopReason = roundLoop.stopReason();
+            warmupRounds = roundLoop.warmupRounds();
+            warmupNanos = roundLoop.warmupNanos();
+        }
+    }
+
+    private List<GatedTask<T>> tasksOf(Configuration raceConfiguration, List<Role<T>> roleList, String[] roleNames,
+                                       Barrier barrier, Deadline deadline, int iteration, boolean isWarmup,
+                                       long scheduleSeed) {
+        DelaySchedule delaySchedule = raceConfiguration.delaySchedule();
+        Checkpoints checkpoints = new Checkpoints(deadline);
+        int parties = raceConfiguration.numThreads();
+        List<GatedTask<T>> tasks = new ArrayList<>(parties);
+        for (int role = 0; role < roleList.size(); role++) {
+            Role<T> racers = roleList.get(role);
+            for (int racer = 0; racer < racers.count; racer++) {
+                int index = tasks.size();
+                tasks.add(new GatedTask<>(racers.task, barrier, delaySchedule.delayNanos(scheduleSeed, index, parties),
+                        new RaceContext(checkpoints, new RoleKey(roleNames[role], racer), index, iteration, isWarmup),
+                        setup, teardown));
+            }
+        }
+        return tasks;
+    }
+
+    private static int roleOf(int[] roleEnds, int index) {
+        int role = 0;
+        while (index >= roleEnds[role]) {
+            role++;
+        }
+        return role;
+    }
+
+    /**
+     * Returns the number of rounds run by the last {@link #go()}.
+     *
+     * @return the number of rounds run
+     */
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns why the last {@link #go()} stopped starting new rounds.
+     *
+     * @return why the rounds stopped, or null if the race has not been run
+     */
+    public StopReason stopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Returns the number of warm-up rounds run by the last {@link #go()}.
+     *
+     * @return the number of warm-up rounds run
+     */
+    public int warmupRounds() {
+        return warmupRounds;
+    }
+
+    /**
+     * Returns how long the warm-up of the last {@link #go()} took.
+     *
+     * @return the time of the warm-up in nanoseconds
+     */
+    public long warmupNanos() {
+        return warmupNanos;
+    }
+
+    private static final class Role<T> {
+        private final int count;
+        private final Callable<T> task;
+
+        private Role(int count, Callable<T> task) {
+            this.count = count;
+            this.task = task;
+        }
+    }
+
+    /**
+     * This class represents a builder for creating a RoleRaceTestSuit.
+     */
+    public static class RoleRaceTestSuitBuilder<T> {
+        private Configuration configuration = Configuration.defaultConfiguration();
+        private final Map<String, Role<T>> roles = new LinkedHashMap<>();
+        private Consumer<RoleExecutionResult<T>> assertion = (t) -> {
+        };
+        private Consumer<ComplexExecutionResult<RoleKey, T>> racerAssertion;
+        private RacerHook setup;
+        private RacerHook teardown;
+        private Predicate<RoleExecutionResult<T>> stopPredicate;
+
+        /**
+         * @param role  - name of the role
+         * @param count - how many racers of the role run at the same time
+         * @param task  - task of the racers of the role
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> role(String role, int count, Callable<T> task) {
+            if (count < 1) {
+                throw new IllegalArgumentException("Count of racers must be positive, but was " + count);
+            }
+            if (roles.putIfAbsent(role, new Role<>(count, task)) != null) {
+                throw new IllegalArgumentException("Role " + role + " is already added");
+            }
+            return this;
+        }
+
+        /**
+         * @param configuration - configuration of execution - timeout, gate mode. The number of threads is always
+         *                      taken from the number of racers of all roles
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> withConfiguration(Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param timeout - the maximum time to wait for the racers of a round
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> withTimeout(Duration timeout) {
+            this.configuration = configuration.toBuilder()
+                    .setTimeout(timeout)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param iterations - how many race rounds to run, the racer threads are reused between the rounds
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> repeat(int iterations) {
+            this.configuration = configuration.toBuilder()
+                    .setIterations(iterations)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param duration - time during which new race rounds are started, the racer threads are reused between
+         *                 the rounds
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> forDuration(Duration duration) {
+            this.configuration = configuration.toBuilder()
+                    .setIterationsDuration(duration)
+                    .build();
+            return this;
+        }
+
+        /**
+         * @param stopPredicate - predicate which stops the rounds as soon as it matches the aggregates of the roles
+         *                      after a round. The budget of rounds is set by {@link #repeat(int)} or
+         *                      {@link #forDuration(Duration)}
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> until(Predicate<RoleExecutionResult<T>> stopPredicate) {
+            this.stopPredicate = stopPredicate;
+            return this;
+        }
+
+        /**
+         * @param setup - hook which runs on the racer thread before the racer arrives at the start gate
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> withSetup(RacerHook setup) {
+            this.setup = setup;
+            return this;
+        }
+
+        /**
+         * @param teardown - hook which runs on the racer thread after the task is completed
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> withTeardown(RacerHook teardown) {
+            this.teardown = teardown;
+            return this;
+        }
+
+        /**
+         * @param assertion - assertion to validate the aggregates of the roles once the last round is over
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> withAssertion(Consumer<RoleExecutionResult<T>> assertion) {
+            this.assertion = assertion;
+            return this;
+        }
+
+        /**
+         * @param racerAssertion - assertion to validate the results of the individual racers of every round. The
+         *                       result of every round is only built when this assertion is set
+         * @return link to builder
+         */
+        public RoleRaceTestSuitBuilder<T> withRacerAssertion(
+                Consumer<ComplexExecutionResult<RoleKey, T>> racerAssertion) {
+            this.racerAssertion = racerAssertion;
+            return this;
+        }
+
+        /**
+         * Method to run test
+         *
+         * @return testSuit
+         */
+        public RoleRaceTestSuit<T> go() {
+            RoleRaceTestSuit<T> roleRaceTestSuit = new RoleRaceTestSuit<>(this);
+            roleRaceTestSuit.go();
+            return roleRaceTestSuit;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * This class runs the rounds of a race on the threads of one {@link BoundRaceExecutorImpl}: the warm-up rounds
+ * first, then the measured rounds until the iterations or the duration of the configuration are used up or the
+ * rounds are stopped. Every round gets a new barrier, deadline and delay schedule seed, and the results of the
+ * racers of a measured round are passed to the rounds by the indexes of the racers, so no result of a round is
+ * built unless the rounds build it.
+ */
+final class RoundLoop<T> {
+    private final Configuration configuration;
+    private final IntFunction<?> keyOf;
+    private int rounds;
+    private StopReason stopReason;
+    private int warmupRounds;
+    private long warmupNanos;
+
+    /**
+     * Constructs a new RoundLoop with the given configuration.
+     *
+     * @param configuration the configuration of the race, the number of threads is the number of racers
+     * @param keyOf         the key of the racer with the given index, which is reported to the flight recorder
+     */
+    RoundLoop(Configuration configuration, IntFunction<?> keyOf) {
+        this.configuration = configuration;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Runs the warm-up rounds and the measured rounds.
+     *
+     * @param racers         the factory of the racers of every round
+     * @param measuredRounds the receiver of the results of the measured rounds
+     */
+    void run(Racers<T> racers, Rounds<T> measuredRounds) {
+        rounds = 0;
+        warmupRounds = 0;
+        warmupNanos = 0;
+        stopReason = StopReason.ITERATIONS;
+        try (BoundRaceExecutorImpl<Integer, T> executor = new BoundRaceExecutorImpl<>(configuration)) {
+            long warmupStartNanos = System.nanoTime();
+            runRounds(executor, racers, (result, index) -> {
+            }, null);
+            warmupNanos = System.nanoTime() - warmupStartNanos;
+            runRounds(executor, racers, measuredRounds, measuredRounds);
+        }
+    }
+
+    private void runRounds(BoundRaceExecutorImpl<Integer, T> executor, Racers<T> racers,
+                           ObjIntConsumer<TaskExecutionResult<T>> onResult, Rounds<T> measuredRounds) {
+        boolean isWarmup = measuredRounds == null;
+        int iterations = isWarmup ? configuration.warmupIterations() : configuration.iterations();
+        Duration duration = isWarmup ? configuration.warmupDuration() : configuration.iterationsDuration();
+        long startNanos = System.nanoTime();
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            if (iteration > 0 && duration != null && System.nanoTime() - startNanos >= duration.toNanos()) {
+                if (!isWarmup) {
+                    stopReason = StopReason.DURATION;
+                }
+                return;
+            }
+            Barrier barrier = new Barrier(configuration);
+            Deadline deadline = Deadline.after(configuration.timeout());
+            long scheduleSeed = isWarmup ? 0 : configuration.delaySchedule().seed(iteration);
+            List<GatedTask<T>> tasks = racers.of(barrier, deadline, iteration, isWarmup, scheduleSeed);
+            if (isWarmup) {
+                executor.executeRound(tasks, barrier, deadline, scheduleSeed, keyOf, onResult);
+                warmupRounds++;
+                continue;
+            }
+            measuredRounds.start(scheduleSeed);
+            Map<Integer, String> unresponsiveThreads = executor.executeRound(tasks, barrier, deadline, scheduleSeed,
+                    keyOf, onResult);
+            rounds++;
+            StopReason reason = measuredRounds.complete(barrier, unresponsiveThreads);
+            if (reason != null) {
+                stopReason = reason;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of measured rounds run by the last {@link #run(Racers, Rounds)}.
+     *
+     * @return the number of measured rounds run
+     */
+    int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns why the last {@link #run(Racers, Rounds)} stopped starting new rounds.
+     *
+     * @return why the rounds stopped, or null if the rounds have not been run
+     */
+    StopReason stopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Returns the number of warm-up rounds run by the last {@link #run(Racers, Rounds)}.
+     *
+     * @return the number of warm-up rounds run
+     */
+    int warmupRounds() {
+        return warmupRounds;
+    }
+
+    /**
+     * Returns how long the warm-up of the last {@link #run(Racers, Rounds)} took.
+     *
+     * @return the time of the warm-up in nanoseconds
+     */
+    long warmupNanos() {
+        return warmupNanos;
+    }
+
+    /**
+     * This interface represents the factory of the racers of a round, in the order of their indexes.
+     */
+    @FunctionalInterface
+    interface Racers<T> {
+
+        /**
+         * Returns the racers of a round, every racer must wait at the given barrier.
+         *
+         * @param barrier      the barrier of the round
+         * @param deadline     the deadline of the round, the one the checkpoints of the racers are bound to
+         * @param iteration    the number of the round, starting with 0 for the warm-up and for the measured rounds
+         * @param isWarmup     whether the round is a warm-up round
+         * @param scheduleSeed the seed of the delay schedule of the round
+         * @return the racers of the round
+         */
+        List<GatedTask<T>> of(Barrier barrier, Deadline deadline, int iteration, boolean isWarmup,
+                              long scheduleSeed);
+    }
+
+    /**
+     * This interface represents the receiver of the measured rounds. It gets the result and the index of every
+     * racer of a round as soon as the racer is completed, on the coordinating thread.
+     */
+    interface Rounds<T> extends ObjIntConsumer<TaskExecutionResult<T>> {
+
+        /**
+         * Called before the racers of a measured round are started.
+         *
+         * @param scheduleSeed the seed of the delay schedule of the round
+         */
+        void start(long scheduleSeed);
+
+        /**
+         * Called once the results of all racers of the round are passed, decides whether the next round is started.
+         *
+         * @param barrier             the barrier of the round
+         * @param unresponsiveThreads the names of the threads which ignored the interrupt by the indexes of the racers
+         * @return why the rounds stop after this round, or null to start the next round
+         */
+        StopReason complete(Barrier barrier, Map<Integer, String> unresponsiveThreads);
+    }
+}
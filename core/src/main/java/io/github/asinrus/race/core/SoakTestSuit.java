@@ -0,0 +1,386 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.LatencyHistogram;
+import io.github.asinrus.race.core.domain.result.RaceStatistics;
+import io.github.asinrus.race.core.domain.result.SoakResult;
+import io.github.asinrus.race.core.domain.result.SoakSnapshot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * This class represents a test suite for a soak race: the racers pass the start gate together and every racer calls
+ * the task in a loop until the end of the soak. Every interval a snapshot of the throughput, the error rate and
+ * the latency percentiles is taken, so a degradation over time, like a growing lock table or an exhausted connection
+ * pool, can be seen and asserted on while the soak is running.
+ * <p>
+ * The racers run on the threads of a single {@link BoundRaceExecutorImpl} round. The bookkeeping of the intervals
+ * is allocated once, the racers record into a ring of {@value #RING_SIZE} intervals which are reused after their
+ * snapshots are taken, so a long soak does not allocate per call or per interval. A call is left out of the snapshot
+ * of its interval, but not of the result, when the bookkeeping it belongs to is not holding its interval at the time
+ * it is recorded, for example when the racer was paused past the snapshot of the interval, so a snapshot never mixes
+ * the calls of different intervals.
+ */
+public class SoakTestSuit<T> implements RaceTestSuit {
+    private static final int RING_SIZE = 4;
+
+    private final Configuration configuration;
+    private final Callable<T> task;
+    private final Duration duration;
+    private final Duration interval;
+    private final Consumer<SoakSnapshot> snapshotAssertion;
+    private final Consumer<SoakResult> assertion;
+    private final IntervalRecorder[] ring = new IntervalRecorder[RING_SIZE];
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Throwable[] errorSamples = new Throwable[RaceStatistics.DEFAULT_FAILURE_SAMPLES];
+    private final AtomicInteger sampledErrors = new AtomicInteger();
+    private long intervalNanos;
+    private int intervals;
+    private long startNanos;
+    private long endNanos;
+    private volatile boolean stopped;
+
+    private SoakTestSuit(SoakTestSuitBuilder<T> builder) {
+        this.configuration = builder.configuration;
+        this.task = builder.task;
+        this.duration = builder.duration;
+        this.interval = builder.interval;
+        this.snapshotAssertion = builder.snapshotAssertion;
+        this.assertion = builder.assertion;
+        for (int i = 0; i < RING_SIZE; i++) {
+            ring[i] = new IntervalRecorder(i);
+        }
+    }
+
+    /**
+     * Runs the racers until the duration is over, validates the snapshot of every interval as soon as the interval
+     * is over and validates the result using the assertion. If a snapshot assertion fails, the racers are stopped.
+     */
+    @Override
+    public void go() {
+        long durationNanos = duration.toNanos();
+        intervalNanos = Math.min(interval.toNanos(), durationNanos);
+        intervals = (int) Math.max(1, (durationNanos + intervalNanos - 1) / intervalNanos);
+
+        Configuration soakConfiguration = configuration.toBuilder()
+                .setTimeout(configuration.timeout().plus(duration))
+                .build();
+        Barrier barrier = new Barrier(soakConfiguration);
+        Deadline deadline = Deadline.after(soakConfiguration.timeout());
+        Checkpoints checkpoints = new Checkpoints(deadline);
+        Map<Integer, GatedTask<Long>> racers = new HashMap<>();
+        for (int index = 0; index < soakConfiguration.numThreads(); index++) {
+            racers.put(index, new GatedTask<>(this::soak, barrier, 0,
+                    new RaceContext(checkpoints, index, index, 0, false)));
+        }
+        BoundRaceExecutorImpl<Integer, Long> executor = new BoundRaceExecutorImpl<>(soakConfiguration);
+
+        startNanos = System.nanoTime();
+        endNanos = startNanos + durationNanos;
+        CompletableFuture<?> round = CompletableFuture.supplyAsync(() -> executor.execute(racers, barrier, deadline),
+                SoakTestSuit::coordinate);
+
+        List<SoakSnapshot> snapshots = new ArrayList<>(intervals);
+        int published = 0;
+        try {
+            while (published < intervals - 1 && !round.isDone()) {
+                long waitNanos = publishAt(published) - System.nanoTime();
+                if (waitNanos > 0) {
+                    await(round, waitNanos);
+                } else {
+                    snapshots.add(publish(published, startNanos + (published + 1) * intervalNanos));
+                    published++;
+                }
+            }
+            join(round);
+        } catch (RuntimeException | Error e) {
+            stopped = true;
+            try {
+                round.join();
+            } catch (CompletionException | CancellationException ignored) {
+                // the failure of the snapshot is reported
+            }
+            throw e;
+        }
+        long finishedNanos = System.nanoTime();
+        while (published < intervals) {
+            long intervalEndNanos = published == intervals - 1
+                    ? finishedNanos
+                    : startNanos + (published + 1) * intervalNanos;
+            snapshots.add(publish(published, intervalEndNanos));
+            published++;
+        }
+
+        int samples = Math.min(sampledErrors.get(), errorSamples.length);
+        List<Throwable> sampled = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            sampled.add(errorSamples[i]);
+        }
+        assertion.accept(new SoakResult(snapshots, operations.sum(), errors.sum(), latency, sampled,
+                finishedNanos - startNanos));
+    }
+
+    private Long soak() {
+        long calls = 0;
+        Thread racer = Thread.currentThread();
+        long startedNanos;
+        while (!stopped && !racer.isInterrupted() && (startedNanos = System.nanoTime()) - endNanos < 0) {
+            boolean failed = false;
+            try {
+                task.call();
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    racer.interrupt();
+                }
+                failed = true;
+                sample(e);
+            }
+            record(startedNanos, System.nanoTime(), failed);
+            calls++;
+        }
+        return calls;
+    }
+
+    private void record(long startedNanos, long finishedNanos, boolean failed) {
+        int index = (int) Math.min((finishedNanos - startNanos) / intervalNanos, intervals - 1);
+        ring[index % RING_SIZE].record(index, finishedNanos - startedNanos, failed);
+        operations.increment();
+        if (failed) {
+            errors.increment();
+        } else {
+            latency.record(finishedNanos - startedNanos);
+        }
+    }
+
+    private void sample(Throwable error) {
+        int sample = sampledErrors.getAndIncrement();
+        if (sample < errorSamples.length) {
+            errorSamples[sample] = error;
+        }
+    }
+
+    /**
+     * Returns the time at which the snapshot of the given interval is taken - a quarter of an interval after its end,
+     * so the calls which finished at the end of the interval are already recorded.
+     */
+    private long publishAt(int interval) {
+        return startNanos + (interval + 1) * intervalNanos + intervalNanos / 4;
+    }
+
+    private SoakSnapshot publish(int interval, long intervalEndNanos) {
+        long offsetNanos = interval * intervalNanos;
+        SoakSnapshot snapshot = ring[interval % RING_SIZE].publish(interval, offsetNanos,
+                intervalEndNanos - startNanos - offsetNanos);
+        snapshotAssertion.accept(snapshot);
+        return snapshot;
+    }
+
+    private static void await(CompletableFuture<?> round, long nanos) {
+        try {
+            round.get(nanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // the snapshot is due, or the failure of the round is reported by join
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BoundRaceExecutorImpl.ExecutionException(e);
+        }
+    }
+
+    private static void join(CompletableFuture<?> round) {
+        try {
+            round.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the race round on its own thread, so the snapshots can be taken on the calling thread.
+     */
+    private static void coordinate(Runnable round) {
+        Thread coordinator = new Thread(round, "race-soak-coordinator");
+        coordinator.setDaemon(true);
+        coordinator.start();
+    }
+
+    /**
+     * The counters and the latencies of one interval, reused for the interval {@value #RING_SIZE} intervals later.
+     * The recorder is tagged with the interval it holds, and the calls of other intervals are not recorded into it.
+     */
+    static final class IntervalRecorder {
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final ReadWriteLock publishLock = new ReentrantReadWriteLock();
+        private int interval;
+
+        IntervalRecorder(int interval) {
+            this.interval = interval;
+        }
+
+        /**
+         * Records a call of the given interval, unless the recorder holds another interval.
+         *
+         * @return true if the call is recorded
+         */
+        boolean record(int interval, long latencyNanos, boolean failed) {
+            Lock lock = publishLock.readLock();
+            lock.lock();
+            try {
+                if (this.interval != interval) {
+                    return false;
+                }
+                operations.increment();
+                if (failed) {
+                    errors.increment();
+                } else {
+                    latency.record(latencyNanos);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Takes the snapshot of the given interval and hands the recorder over to the interval
+         * {@value #RING_SIZE} intervals later.
+         */
+        SoakSnapshot publish(int interval, long offsetNanos, long durationNanos) {
+            Lock lock = publishLock.writeLock();
+            lock.lock();
+            try {
+                SoakSnapshot snapshot = new SoakSnapshot(interval, offsetNanos, durationNanos, operations.sum(),
+                        errors.sum(), latency);
+                operations.reset();
+                errors.reset();
+                latency.reset();
+                this.interval = interval + RING_SIZE;
+                return snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * This class represents a builder for creating a SoakTestSuit.
+     */
+    public static class SoakTestSuitBuilder<T> {
+        private Configuration configuration = Configuration.defaultConfiguration();
+        private final Callable<T> task;
+        private Duration duration = Duration.ofSeconds(10);
+        private Duration interval = Duration.ofSeconds(1);
+        private Consumer<SoakSnapshot> snapshotAssertion = (t) -> {
+        };
+        private Consumer<SoakResult> assertion = (t) -> {
+        };
+
+        public SoakTestSuitBuilder(Callable<T> task) {
+            this.task = task;
+        }
+
+        /**
+         * @param configuration - configuration of execution - the number of racers, the engine, the start gate and
+         *                      how long the racers are awaited once the soak is over
+         * @return link to builder
+         */
+        public SoakTestSuitBuilder<T> withConfiguration(Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param duration - time during which the racers call the task, 10 seconds by default
+         * @return link to builder
+         */
+        public SoakTestSuitBuilder<T> forDuration(Duration duration) {
+            this.duration = checkPositive(duration, "Duration");
+            return this;
+        }
+
+        /**
+         * @param interval - length of the intervals the snapshots are taken for, 1 second by default
+         * @return link to builder
+         */
+        public SoakTestSuitBuilder<T> withSnapshotInterval(Duration interval) {
+            this.interval = checkPositive(interval, "Snapshot interval");
+            return this;
+        }
+
+        /**
+         * @param snapshotAssertion - assertion to validate the snapshot of every interval on the calling thread,
+         *                          as soon as the interval is over. It should return within an interval, because
+         *                          the bookkeeping of an interval is reused a few intervals later, and the calls
+         *                          which find it still held by an earlier interval are left out of the snapshots
+         * @return link to builder
+         */
+        public SoakTestSuitBuilder<T> withSnapshotAssertion(Consumer<SoakSnapshot> snapshotAssertion) {
+            this.snapshotAssertion = snapshotAssertion;
+            return this;
+        }
+
+        /**
+         * @param assertion - assertion to validate the result once the soak is over
+         * @return link to builder
+         */
+        public SoakTestSuitBuilder<T> withAssertion(Consumer<SoakResult> assertion) {
+            this.assertion = assertion;
+            return this;
+        }
+
+        /**
+         * Method to run test
+         *
+         * @return testSuit
+         */
+        public SoakTestSuit<T> go() {
+            SoakTestSuit<T> soakTestSuit = new SoakTestSuit<>(this);
+            soakTestSuit.go();
+            return soakTestSuit;
+        }
+
+        private static Duration checkPositive(Duration duration, String name) {
+            if (duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException(name + " must be positive, but was " + duration);
+            }
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+/**
+ * This enum represents why a repeated race stopped starting new rounds.
+ */
+public enum StopReason {
+    /**
+     * The configured number of rounds was run.
+     */
+    ITERATIONS,
+
+    /**
+     * The configured time for starting new rounds was over.
+     */
+    DURATION,
+
+    /**
+     * The stop predicate matched the result of the last round.
+     */
+    PREDICATE,
+
+    /**
+     * No new outcome signature appeared for the configured number of rounds.
+     */
+    NO_NEW_OUTCOMES
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.ThreadUsage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the {@link ThreadUsage} of the current thread between {@link #start()} and {@link #stop()} with
+ * the {@link ThreadMXBean} of the JVM. The blocked and waited times need thread contention monitoring, a JVM-wide
+ * setting, which is enabled by {@link #acquireContentionMonitoring()} while races measure the threads, if the JVM
+ * supports it, and switched back off once the last of them releases it, unless it was on before.
+ */
+final class ThreadUsageProbe {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS =
+            THREADS instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) THREADS : null;
+    private static int contentionMonitoringUsers;
+    private static boolean isContentionMonitoringEnabledByProbe;
+
+    private long cpuNanos;
+    private long blockedCount;
+    private long blockedNanos;
+    private long waitedCount;
+    private long waitedNanos;
+    private long allocatedBytes;
+
+    /**
+     * Records the usage of the current thread so far.
+     */
+    void start() {
+        long threadId = Thread.currentThread().getId();
+        ThreadInfo info = THREADS.getThreadInfo(threadId);
+        cpuNanos = cpuNanos();
+        blockedCount = info == null ? ThreadUsage.UNSUPPORTED : info.getBlockedCount();
+        blockedNanos = blockedNanos(info);
+        waitedCount = info == null ? ThreadUsage.UNSUPPORTED : info.getWaitedCount();
+        waitedNanos = waitedNanos(info);
+        allocatedBytes = allocatedBytes(threadId);
+    }
+
+    /**
+     * Returns the usage of the current thread since {@link #start()}.
+     *
+     * @return the usage of the current thread since the start of the probe
+     */
+    ThreadUsage stop() {
+        long threadId = Thread.currentThread().getId();
+        long allocatedAfter = allocatedBytes(threadId);
+        long cpuAfter = cpuNanos();
+        ThreadInfo info = THREADS.getThreadInfo(threadId);
+        return new ThreadUsage(delta(cpuNanos, cpuAfter),
+                delta(blockedCount, info == null ? ThreadUsage.UNSUPPORTED : info.getBlockedCount()),
+                delta(blockedNanos, blockedNanos(info)),
+                delta(waitedCount, info == null ? ThreadUsage.UNSUPPORTED : info.getWaitedCount()),
+                delta(waitedNanos, waitedNanos(info)),
+                delta(allocatedBytes, allocatedAfter));
+    }
+
+    private static long cpuNanos() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+            return ThreadUsage.UNSUPPORTED;
+        }
+        try {
+            return THREADS.getCurrentThreadCpuTime();
+        } catch (UnsupportedOperationException e) {
+            return ThreadUsage.UNSUPPORTED;
+        }
+    }
+
+    private static long blockedNanos(ThreadInfo info) {
+        long millis = info == null ? ThreadUsage.UNSUPPORTED : info.getBlockedTime();
+        return millis == ThreadUsage.UNSUPPORTED ? millis : millis * 1_000_000;
+    }
+
+    private static long waitedNanos(ThreadInfo info) {
+        long millis = info == null ? ThreadUsage.UNSUPPORTED : info.getWaitedTime();
+        return millis == ThreadUsage.UNSUPPORTED ? millis : millis * 1_000_000;
+    }
+
+    private static long allocatedBytes(long threadId) {
+        if (ALLOCATIONS == null || !ALLOCATIONS.isThreadAllocatedMemorySupported()
+                || !ALLOCATIONS.isThreadAllocatedMemoryEnabled()) {
+            return ThreadUsage.UNSUPPORTED;
+        }
+        return ALLOCATIONS.getThreadAllocatedBytes(threadId);
+    }
+
+    private static long delta(long before, long after) {
+        return before == ThreadUsage.UNSUPPORTED || after == ThreadUsage.UNSUPPORTED ? ThreadUsage.UNSUPPORTED
+                : after - before;
+    }
+
+    /**
+     * Enables thread contention monitoring if the JVM supports it and it is off. Every call must be paired with
+     * {@link #releaseContentionMonitoring()}. Without the monitoring the blocked and waited times are unsupported.
+     */
+    static synchronized void acquireContentionMonitoring() {
+        if (contentionMonitoringUsers++ > 0 || !THREADS.isThreadContentionMonitoringSupported()) {
+            return;
+        }
+        try {
+            if (!THREADS.isThreadContentionMonitoringEnabled()) {
+                THREADS.setThreadContentionMonitoringEnabled(true);
+                isContentionMonitoringEnabledByProbe = true;
+            }
+        } catch (SecurityException e) {
+            // the blocked and waited times stay unsupported
+        }
+    }
+
+    /**
+     * Switches thread contention monitoring back off once the last user releases it, if it was enabled by
+     * {@link #acquireContentionMonitoring()}.
+     */
+    static synchronized void releaseContentionMonitoring() {
+        if (--contentionMonitoringUsers > 0 || !isContentionMonitoringEnabledByProbe) {
+            return;
+        }
+        isContentionMonitoringEnabledByProbe = false;
+        try {
+            THREADS.setThreadContentionMonitoringEnabled(false);
+        } catch (SecurityException e) {
+            // the monitoring stays enabled
+        }
+    }
+}
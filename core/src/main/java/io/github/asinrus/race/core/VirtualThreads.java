@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class provides virtual threads. The library is built for Java 11, so
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} is looked up once when the class is loaded, and virtual threads
+ * are not available on runtimes older than Java 21.
+ */
+final class VirtualThreads {
+    private static final MethodHandle NEW_EXECUTOR = lookupNewExecutor();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns whether virtual threads are available on the current runtime.
+     *
+     * @return whether virtual threads are available on the current runtime
+     */
+    static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * Returns a new executor which starts a new virtual thread for every task.
+     *
+     * @return a new executor which starts a new virtual thread for every task
+     * @throws UnsupportedOperationException if virtual threads are not available on the current runtime
+     */
+    static ExecutorService newExecutor() {
+        if (NEW_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer, but the runtime is Java "
+                    + Runtime.version().feature());
+        }
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create an executor of virtual threads", e);
+        }
+    }
+
+    private static MethodHandle lookupNewExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -23,6 +23,13 @@ import java.util.List;
 public class CommonExecutionResult<T> {
     private final Collection<T> results;
     private final Collection<Throwable> errors;
+    private final long startSkewNanos;
+    private final String engine;
+    private final LatencyHistogram successLatency;
+    private final LatencyHistogram failureLatency;
+    private final ThreadUsage threadUsage;
+    private final int warmupRounds;
+    private final long warmupNanos;
 
     /**
      * Constructs a new CommonExecutionResult with the given results and errors.
@@ -31,8 +38,42 @@ public class CommonExecutionResult<T> {
      * @param errors  the errors that occurred during the tasks execution, if any
      */
     public CommonExecutionResult(Collection<T> results, Collection<Throwable> errors) {
+        this(results, errors, 0, null);
+    }
+
+    /**
+     * Constructs a new CommonExecutionResult with the given results, errors, start skew and execution engine.
+     *
+     * @param results        the results of the tasks
+     * @param errors         the errors that occurred during the tasks execution, if any
+     * @param startSkewNanos the time between the first and the last task passing the start gate
+     * @param engine         the name of the execution engine the tasks ran on
+     */
+    public CommonExecutionResult(Collection<T> results, Collection<Throwable> errors, long startSkewNanos,
+                                 String engine) {
         this.results = results;
         this.errors = errors;
+        this.startSkewNanos = startSkewNanos;
+        this.engine = engine;
+        this.successLatency = new LatencyHistogram();
+        this.failureLatency = new LatencyHistogram();
+        this.threadUsage = null;
+        this.warmupRounds = 0;
+        this.warmupNanos = 0;
+    }
+
+    private CommonExecutionResult(Collection<T> results, Collection<Throwable> errors, long startSkewNanos,
+                                  String engine, LatencyHistogram successLatency, LatencyHistogram failureLatency,
+                                  ThreadUsage threadUsage, int warmupRounds, long warmupNanos) {
+        this.results = results;
+        this.errors = errors;
+        this.startSkewNanos = startSkewNanos;
+        this.engine = engine;
+        this.successLatency = successLatency;
+        this.failureLatency = failureLatency;
+        this.threadUsage = threadUsage;
+        this.warmupRounds = warmupRounds;
+        this.warmupNanos = warmupNanos;
     }
 
     /**
@@ -42,18 +83,65 @@ public class CommonExecutionResult<T> {
      * @return a new CommonExecutionResult based on the given ComplexExecutionResult
      */
     public static <T> CommonExecutionResult<T> parse(ComplexExecutionResult<?, T> executionResult) {
+        return parse(List.of(executionResult));
+    }
+
+    /**
+     * Returns a new CommonExecutionResult which combines the results of several race rounds.
+     * The start skew is the largest start skew of the rounds, the latencies of all rounds are recorded together
+     * and the usages of the racer threads of all rounds are added up. The warm-up is the one before the rounds.
+     *
+     * @param executionResults the results of the race rounds
+     * @return a new CommonExecutionResult based on the given results of the race rounds
+     */
+    public static <T> CommonExecutionResult<T> parse(
+            Collection<? extends ComplexExecutionResult<?, T>> executionResults) {
         List<T> result = new ArrayList<>();
         List<Throwable> throwables = new ArrayList<>();
-        executionResult.resultMap().forEach((key, val) -> {
-            if (val.isHasError()) {
-                throwables.add(val.error().getCause());
-            } else {
-                result.add(val.result());
+        long startSkewNanos = 0;
+        String engine = null;
+        LatencyHistogram successLatency = new LatencyHistogram();
+        LatencyHistogram failureLatency = new LatencyHistogram();
+        ThreadUsage threadUsage = null;
+        int warmupRounds = 0;
+        long warmupNanos = 0;
+        for (ComplexExecutionResult<?, T> executionResult : executionResults) {
+            for (TaskExecutionResult<T> val : executionResult.resultMap().values()) {
+                if (val.isCancelled()) {
+                    continue;
+                }
+                if (val.isHasError()) {
+                    throwables.add(val.error().getCause());
+                    recordLatency(failureLatency, val);
+                } else {
+                    result.add(val.result());
+                    recordLatency(successLatency, val);
+                }
+                if (val.threadUsage() != null) {
+                    threadUsage = threadUsage == null ? val.threadUsage() : threadUsage.plus(val.threadUsage());
+                }
             }
-        });
+            startSkewNanos = Math.max(startSkewNanos, executionResult.startSkewNanos());
+            engine = executionResult.engine();
+            warmupRounds = executionResult.warmupRounds();
+            warmupNanos = executionResult.warmupNanos();
+        }
         return new CommonExecutionResult<>(Collections.unmodifiableList(result),
-                Collections.unmodifiableList(throwables));
+                Collections.unmodifiableList(throwables),
+                startSkewNanos,
+                engine,
+                successLatency,
+                failureLatency,
+                threadUsage,
+                warmupRounds,
+                warmupNanos);
+
+    }
 
+    private static void recordLatency(LatencyHistogram histogram, TaskExecutionResult<?> executionResult) {
+        if (executionResult.startedNanos() != 0) {
+            histogram.record(executionResult.executionNanos());
+        }
     }
 
     /**
@@ -73,4 +161,67 @@ public class CommonExecutionResult<T> {
     public Collection<Throwable> errors() {
         return errors;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the start skew of the race - the time between the first and the last task passing the start gate.
+     *
+     * @return the start skew in nanoseconds
+     */
+    public long startSkewNanos() {
+        return startSkewNanos;
+    }
+
+    /**
+     * Returns the name of the execution engine the tasks ran on.
+     *
+     * @return the name of the execution engine the tasks ran on
+     */
+    public String engine() {
+        return engine;
+    }
+
+    /**
+     * Returns the execution latencies of the tasks which completed successfully.
+     *
+     * @return the execution latencies of the successful tasks
+     */
+    public LatencyHistogram successLatency() {
+        return successLatency;
+    }
+
+    /**
+     * Returns the execution latencies of the tasks which completed with an error.
+     *
+     * @return the execution latencies of the failed tasks
+     */
+    public LatencyHistogram failureLatency() {
+        return failureLatency;
+    }
+
+    /**
+     * Returns the usage of the racer threads added up over the tasks which were not cancelled, if it was measured.
+     *
+     * @return the total usage of the racer threads, or null if it was not measured
+     */
+    public ThreadUsage threadUsage() {
+        return threadUsage;
+    }
+
+    /**
+     * Returns the number of warm-up rounds run before the measured rounds. Their results are thrown away.
+     *
+     * @return the number of warm-up rounds, or 0 if there was no warm-up
+     */
+    public int warmupRounds() {
+        return warmupRounds;
+    }
+
+    /**
+     * Returns how long the warm-up before the measured rounds took.
+     *
+     * @return the time of the warm-up in nanoseconds, or 0 if there was no warm-up
+     */
+    public long warmupNanos() {
+        return warmupNanos;
+    }
+}
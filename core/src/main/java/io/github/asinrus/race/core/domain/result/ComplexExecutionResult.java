@@ -12,6 +12,7 @@
 
 package io.github.asinrus.race.core.domain.result;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -41,4 +42,68 @@ public interface ComplexExecutionResult<K, T> {
      * @param result the result of the task
      */
     void addResult(K key, TaskExecutionResult<T> result);
+
+    /**
+     * Returns the start skew of the race - the time between the first and the last task passing the start gate.
+     *
+     * @return the start skew in nanoseconds, or 0 if it is not measured
+     */
+    default long startSkewNanos() {
+        return 0;
+    }
+
+    /**
+     * Returns the name of the execution engine the tasks ran on.
+     *
+     * @return the name of the execution engine the tasks ran on, or null if it is unknown
+     */
+    default String engine() {
+        return null;
+    }
+
+    /**
+     * Returns the racers which were cancelled, but kept running after the interrupt.
+     *
+     * @return the names of the threads which ignored the interrupt by the keys of their tasks
+     */
+    default Map<K, String> unresponsiveThreads() {
+        return Map.of();
+    }
+
+    /**
+     * Returns the keys of the tasks which were completed, in the order of completion. Cancelled tasks are not included.
+     *
+     * @return the keys of the completed tasks in the order of completion, or an empty list if it is unknown
+     */
+    default List<K> completionOrder() {
+        return List.of();
+    }
+
+    /**
+     * Returns the seed of the delay schedule of the round. A round can be replayed with
+     * {@code DelaySchedule.replay(seed)}.
+     *
+     * @return the seed of the delay schedule of the round, or 0 if the round had no delays
+     */
+    default long scheduleSeed() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of warm-up rounds run before the measured rounds. Their results are thrown away.
+     *
+     * @return the number of warm-up rounds, or 0 if there was no warm-up
+     */
+    default int warmupRounds() {
+        return 0;
+    }
+
+    /**
+     * Returns how long the warm-up before the measured rounds took.
+     *
+     * @return the time of the warm-up in nanoseconds, or 0 if there was no warm-up
+     */
+    default long warmupNanos() {
+        return 0;
+    }
 }
\ No newline at end of file
@@ -12,15 +12,25 @@
 
 package io.github.asinrus.race.core.domain.result;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * This class represents the result of a complex execution, which consists of multiple tasks.
  */
 public class ComplexExecutionResultImpl<K, T> implements ComplexExecutionResult<K, T> {
     private final Map<K, TaskExecutionResult<T>> answers = new ConcurrentHashMap<>();
+    private final List<K> addingOrder = new ArrayList<>();
+    private long startSkewNanos;
+    private String engine;
+    private Map<K, String> unresponsiveThreads = Map.of();
+    private long scheduleSeed;
+    private int warmupRounds;
+    private long warmupNanos;
 
     /**
      * Returns the results of the tasks.
@@ -45,12 +55,134 @@ public class ComplexExecutionResultImpl<K, T> implements ComplexExecutionResult<
 
     /**
      * Adds the result of a task to this complex execution result.
+     * The results of the completed tasks are expected to be added in the order of completion.
      *
      * @param key    the key of the task
      * @param result the result of the task
      */
     @Override
     public void addResult(K key, TaskExecutionResult<T> result) {
-        answers.put(key, result);
+        if (answers.put(key, result) == null) {
+            addingOrder.add(key);
+        }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the start skew of the race - the time between the first and the last task passing the start gate.
+     *
+     * @return the start skew in nanoseconds
+     */
+    @Override
+    public long startSkewNanos() {
+        return startSkewNanos;
+    }
+
+    /**
+     * Sets the start skew of the race.
+     *
+     * @param startSkewNanos the start skew in nanoseconds
+     */
+    public void setStartSkewNanos(long startSkewNanos) {
+        this.startSkewNanos = startSkewNanos;
+    }
+
+    /**
+     * Returns the name of the execution engine the tasks ran on.
+     *
+     * @return the name of the execution engine the tasks ran on
+     */
+    @Override
+    public String engine() {
+        return engine;
+    }
+
+    /**
+     * Sets the name of the execution engine the tasks ran on.
+     *
+     * @param engine the name of the execution engine
+     */
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Returns the racers which were cancelled, but kept running after the interrupt.
+     *
+     * @return the names of the threads which ignored the interrupt by the keys of their tasks
+     */
+    @Override
+    public Map<K, String> unresponsiveThreads() {
+        return unresponsiveThreads;
+    }
+
+    /**
+     * Sets the racers which were cancelled, but kept running after the interrupt.
+     *
+     * @param unresponsiveThreads the names of the threads which ignored the interrupt by the keys of their tasks
+     */
+    public void setUnresponsiveThreads(Map<K, String> unresponsiveThreads) {
+        this.unresponsiveThreads = unresponsiveThreads;
+    }
+
+    /**
+     * Returns the keys of the tasks which were completed, in the order of completion. Cancelled tasks are not included.
+     *
+     * @return the keys of the completed tasks in the order of completion
+     */
+    @Override
+    public List<K> completionOrder() {
+        return addingOrder.stream()
+                .filter(key -> !answers.get(key).isCancelled())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Returns the seed of the delay schedule of the round.
+     *
+     * @return the seed of the delay schedule of the round, or 0 if the round had no delays
+     */
+    @Override
+    public long scheduleSeed() {
+        return scheduleSeed;
+    }
+
+    /**
+     * Sets the seed of the delay schedule of the round.
+     *
+     * @param scheduleSeed the seed of the delay schedule of the round
+     */
+    public void setScheduleSeed(long scheduleSeed) {
+        this.scheduleSeed = scheduleSeed;
+    }
+
+    /**
+     * Returns the number of warm-up rounds run before the measured rounds.
+     *
+     * @return the number of warm-up rounds, or 0 if there was no warm-up
+     */
+    @Override
+    public int warmupRounds() {
+        return warmupRounds;
+    }
+
+    /**
+     * Returns how long the warm-up before the measured rounds took.
+     *
+     * @return the time of the warm-up in nanoseconds, or 0 if there was no warm-up
+     */
+    @Override
+    public long warmupNanos() {
+        return warmupNanos;
+    }
+
+    /**
+     * Sets the warm-up run before the measured rounds.
+     *
+     * @param warmupRounds the number of warm-up rounds
+     * @param warmupNanos  the time of the warm-up in nanoseconds
+     */
+    public void setWarmup(int warmupRounds, long warmupNanos) {
+        this.warmupRounds = warmupRounds;
+        this.warmupNanos = warmupNanos;
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class represents the result of a complex execution, which consists of multiple tasks, stored in dense arrays
+ * by the index of the task. The keys are known up front. If the keys are the integers from 0 to the number of tasks,
+ * a key is its own index, otherwise a key to index map is kept. The results are expected to be added by a single
+ * thread.
+ */
+public class IndexedExecutionResult<K, T> implements ComplexExecutionResult<K, T> {
+    private final List<K> keys;
+    private final Map<K, Integer> indexByKey;
+    private final TaskExecutionResult<T>[] results;
+    private final int[] addingOrder;
+    private int added;
+    private Map<K, TaskExecutionResult<T>> resultMap;
+    private long startSkewNanos;
+    private String engine;
+    private Map<K, String> unresponsiveThreads = Map.of();
+    private long scheduleSeed;
+    private int warmupRounds;
+    private long warmupNanos;
+
+    /**
+     * Constructs a new IndexedExecutionResult for the tasks with the given keys. The index of a task is the position
+     * of its key.
+     *
+     * @param keys the keys of the tasks
+     */
+    @SuppressWarnings("unchecked")
+    public IndexedExecutionResult(Collection<K> keys) {
+        this.keys = List.copyOf(keys);
+        this.indexByKey = isDense(this.keys) ? null : indexByKey(this.keys);
+        this.results = (TaskExecutionResult<T>[]) new TaskExecutionResult<?>[this.keys.size()];
+        this.addingOrder = new int[this.keys.size()];
+    }
+
+    private static boolean isDense(List<?> keys) {
+        for (int index = 0; index < keys.size(); index++) {
+            Object key = keys.get(index);
+            if (!(key instanceof Integer) || (Integer) key != index) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <K> Map<K, Integer> indexByKey(List<K> keys) {
+        Map<K, Integer> indexByKey = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (int index = 0; index < keys.size(); index++) {
+            indexByKey.put(keys.get(index), index);
+        }
+        return indexByKey;
+    }
+
+    /**
+     * Returns the index of the task with the given key.
+     *
+     * @param key the key of the task
+     * @return the index of the task, or -1 if there is no task with the given key
+     */
+    public int indexOf(Object key) {
+        if (indexByKey != null) {
+            return indexByKey.getOrDefault(key, -1);
+        }
+        if (key instanceof Integer) {
+            int index = (Integer) key;
+            return index >= 0 && index < results.length ? index : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return the number of tasks
+     */
+    public int size() {
+        return results.length;
+    }
+
+    /**
+     * Returns the key of the task with the given index.
+     *
+     * @param index the index of the task
+     * @return the key of the task
+     */
+    public K key(int index) {
+        return keys.get(index);
+    }
+
+    /**
+     * Returns the result of the task with the given index.
+     *
+     * @param index the index of the task
+     * @return the result of the task, or null if it is not added yet
+     */
+    public TaskExecutionResult<T> get(int index) {
+        return results[index];
+    }
+
+    /**
+     * Returns the results of the tasks. The map is a view of the stored results, it is created once.
+     *
+     * @return the results of the tasks
+     */
+    @Override
+    public Map<K, TaskExecutionResult<T>> resultMap() {
+        if (resultMap == null) {
+            resultMap = new ResultMap();
+        }
+        return resultMap;
+    }
+
+    /**
+     * Returns the result of the task with the given key.
+     *
+     * @param key the key of the task
+     * @return the result of the task with the given key
+     */
+    @Override
+    public TaskExecutionResult<T> get(K key) {
+        int index = indexOf(key);
+        return index < 0 ? null : results[index];
+    }
+
+    /**
+     * Adds the result of a task to this complex execution result.
+     * The results of the completed tasks are expected to be added in the order of completion.
+     *
+     * @param key    the key of the task
+     * @param result the result of the task
+     * @throws IllegalArgumentException if there is no task with the given key
+     */
+    @Override
+    public void addResult(K key, TaskExecutionResult<T> result) {
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown task key " + key);
+        }
+        addResult(index, result);
+    }
+
+    /**
+     * Adds the result of the task with the given index to this complex execution result.
+     * The results of the completed tasks are expected to be added in the order of completion.
+     *
+     * @param index  the index of the task
+     * @param result the result of the task
+     */
+    public void addResult(int index, TaskExecutionResult<T> result) {
+        if (results[index] == null) {
+            addingOrder[added++] = index;
+        }
+        results[index] = result;
+    }
+
+    /**
+     * Returns the start skew of the race - the time between the first and the last task passing the start gate.
+     *
+     * @return the start skew in nanoseconds
+     */
+    @Override
+    public long startSkewNanos() {
+        return startSkewNanos;
+    }
+
+    /**
+     * Sets the start skew of the race.
+     *
+     * @param startSkewNanos the start skew in nanoseconds
+     */
+    public void setStartSkewNanos(long startSkewNanos) {
+        this.startSkewNanos = startSkewNanos;
+    }
+
+    /**
+     * Returns the name of the execution engine the tasks ran on.
+     *
+     * @return the name of the execution engine the tasks ran on
+     */
+    @Override
+    public String engine() {
+        return engine;
+    }
+
+    /**
+     * Sets the name of the execution engine the tasks ran on.
+     *
+     * @param engine the name of the execution engine
+     */
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Returns the racers which were cancelled, but kept running after the interrupt.
+     *
+     * @return the names of the threads which ignored the interrupt by the keys of their tasks
+     */
+    @Override
+    public Map<K, String> unresponsiveThreads() {
+        return unresponsiveThreads;
+    }
+
+    /**
+     * Sets the racers which were cancelled, but kept running after the interrupt.
+     *
+     * @param unresponsiveThreads the names of the threads which ignored the interrupt by the keys of their tasks
+     */
+    public void setUnresponsiveThreads(Map<K, String> unresponsiveThreads) {
+        this.unresponsiveThreads = unresponsiveThreads;
+    }
+
+    /**
+     * Returns the keys of the tasks which were completed, in the order of completion. Cancelled tasks are not included.
+     *
+     * @return the keys of the completed tasks in the order of completion
+     */
+    @Override
+    public List<K> completionOrder() {
+        List<K> completionOrder = new ArrayList<>(added);
+        for (int i = 0; i < added; i++) {
+            int index = addingOrder[i];
+            if (!results[index].isCancelled()) {
+                completionOrder.add(keys.get(index));
+            }
+        }
+        return Collections.unmodifiableList(completionOrder);
+    }
+
+    /**
+     * Returns the seed of the delay schedule of the round.
+     *
+     * @return the seed of the delay schedule of the round, or 0 if the round had no delays
+     */
+    @Override
+    public long scheduleSeed() {
+        return scheduleSeed;
+    }
+
+    /**
+     * Sets the seed of the delay schedule of the round.
+     *
+     * @param scheduleSeed the seed of the delay schedule of the round
+     */
+    public void setScheduleSeed(long scheduleSeed) {
+        this.scheduleSeed = scheduleSeed;
+    }
+
+    /**
+     * Returns the number of warm-up rounds run before the measured rounds.
+     *
+     * @return the number of warm-up rounds, or 0 if there was no warm-up
+     */
+    @Override
+    public int warmupRounds() {
+        return warmupRounds;
+    }
+
+    /**
+     * Returns how long the warm-up before the measured rounds took.
+     *
+     * @return the time of the warm-up in nanoseconds, or 0 if there was no warm-up
+     */
+    @Override
+    public long warmupNanos() {
+        return warmupNanos;
+    }
+
+    /**
+     * Sets the warm-up run before the measured rounds.
+     *
+     * @param warmupRounds the number of warm-up rounds
+     * @param warmupNanos  the time of the warm-up in nanoseconds
+     */
+    public void setWarmup(int warmupRounds, long warmupNanos) {
+        this.warmupRounds = warmupRounds;
+        this.warmupNanos = warmupNanos;
+    }
+
+    /**
+     * This class represents an unmodifiable map view of the added results, in the order of the indexes.
+     */
+    private final class ResultMap extends AbstractMap<K, TaskExecutionResult<T>> {
+        private final Set<Entry<K, TaskExecutionResult<T>>> entrySet = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, TaskExecutionResult<T>>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        int index = from;
+                        while (index < results.length && results[index] == null) {
+                            index++;
+                        }
+                        return index;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < results.length;
+                    }
+
+                    @Override
+                    public Entry<K, TaskExecutionResult<T>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int index = next;
+                        next = advance(index + 1);
+                        return new SimpleImmutableEntry<>(keys.get(index), results[index]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return added;
+            }
+        };
+
+        @Override
+        public Set<Entry<K, TaskExecutionResult<T>>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return added;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int index = indexOf(key);
+            return index >= 0 && results[index] != null;
+        }
+
+        @Override
+        public TaskExecutionResult<T> get(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : results[index];
+        }
+    }
+}
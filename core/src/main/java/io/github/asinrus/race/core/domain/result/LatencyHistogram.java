@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents a fixed-memory histogram of latencies in nanoseconds. The buckets are logarithmic with
+ * 32 linear sub-buckets per power of two, so a percentile is reported with a relative error of about 3%.
+ * Recording is lock-free, so the histogram can be shared by racers without adding contention.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * Records the given latency. Negative latencies are recorded as 0.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Adds all latencies recorded by the given histogram to this histogram.
+     *
+     * @param other the histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = other.buckets.get(i);
+            if (bucketCount != 0) {
+                buckets.addAndGet(i, bucketCount);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        min.accumulate(other.min.get());
+        max.accumulate(other.max.get());
+    }
+
+    /**
+     * Forgets all recorded latencies, so the histogram can be reused without allocating a new one. Latencies which
+     * are recorded while the histogram is being reset may be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the smallest recorded latency.
+     *
+     * @return the smallest recorded latency in nanoseconds, or 0 if nothing is recorded
+     */
+    public long min() {
+        return count() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return the largest recorded latency in nanoseconds, or 0 if nothing is recorded
+     */
+    public long max() {
+        return count() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     *
+     * @return the mean of the recorded latencies in nanoseconds, or 0 if nothing is recorded
+     */
+    public double mean() {
+        long recorded = count();
+        return recorded == 0 ? 0 : (double) sum.sum() / recorded;
+    }
+
+    /**
+     * Returns the latency below or at which the given percentage of the recorded latencies are.
+     *
+     * @param percentile the percentage from 0 to 100, for example 99.9
+     * @return the latency at the given percentile in nanoseconds, or 0 if nothing is recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " + percentile);
+        }
+        long recorded = count();
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(max(), Math.max(min(), middleOf(i)));
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Returns the median of the recorded latencies.
+     *
+     * @return the median in nanoseconds
+     */
+    public long p50() {
+        return percentile(50);
+    }
+
+    /**
+     * Returns the 90th percentile of the recorded latencies.
+     *
+     * @return the 90th percentile in nanoseconds
+     */
+    public long p90() {
+        return percentile(90);
+    }
+
+    /**
+     * Returns the 99th percentile of the recorded latencies.
+     *
+     * @return the 99th percentile in nanoseconds
+     */
+    public long p99() {
+        return percentile(99);
+    }
+
+    /**
+     * Returns the 99.9th percentile of the recorded latencies.
+     *
+     * @return the 99.9th percentile in nanoseconds
+     */
+    public long p999() {
+        return percentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{count=" + count() + ", min=" + min() + ", p50=" + p50() + ", p90=" + p90()
+                + ", p99=" + p99() + ", p99.9=" + p999() + ", max=" + max() + ", mean=" + (long) mean() + "}";
+    }
+
+    /**
+     * Returns the bucket of the given value. Values below {@code 2 * SUB_BUCKETS} have a bucket each, larger values
+     * are shifted right until {@code SUB_BUCKET_BITS + 1} bits are left, so the bucket is the shift and
+     * the remaining bits, which are between {@code SUB_BUCKETS} and {@code 2 * SUB_BUCKETS - 1}.
+     */
+    private static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the middle of the values of the given bucket, the inverse of {@link #bucketOf(long)}.
+     */
+    private static long middleOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + ((1L << shift) - 1) / 2;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+/**
+ * This class represents the result of an open-loop race, where the tasks were started on a schedule of arrivals
+ * instead of all at once. The response latency is measured from the intended start of a task, so a stall of the
+ * system under test or of the racer threads is reported with its queueing delay.
+ */
+public class OpenLoopResult<T> {
+    private final RaceStatistics<T> statistics;
+    private final LatencyHistogram responseLatency;
+    private final long arrivals;
+    private final long unfinished;
+    private final long durationNanos;
+    private final long maxDispatchLagNanos;
+
+    /**
+     * Constructs a new OpenLoopResult.
+     *
+     * @param statistics          the aggregate of the finished tasks, with their execution latencies
+     * @param responseLatency     the latencies from the intended start to the end of the finished tasks
+     * @param arrivals            the number of tasks which were started
+     * @param unfinished          the number of tasks which did not finish in time
+     * @param durationNanos       the time during which the tasks were started
+     * @param maxDispatchLagNanos the largest delay between the intended start and the submission of a task
+     */
+    public OpenLoopResult(RaceStatistics<T> statistics, LatencyHistogram responseLatency, long arrivals,
+                          long unfinished, long durationNanos, long maxDispatchLagNanos) {
+        this.statistics = statistics;
+        this.responseLatency = responseLatency;
+        this.arrivals = arrivals;
+        this.unfinished = unfinished;
+        this.durationNanos = durationNanos;
+        this.maxDispatchLagNanos = maxDispatchLagNanos;
+    }
+
+    /**
+     * Returns the aggregate of the finished tasks. Its latencies are the execution latencies of the tasks.
+     *
+     * @return the aggregate of the finished tasks
+     */
+    public RaceStatistics<T> statistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the latencies from the intended start to the end of the finished tasks.
+     *
+     * @return the response latencies of the finished tasks
+     */
+    public LatencyHistogram responseLatency() {
+        return responseLatency;
+    }
+
+    /**
+     * Returns the number of tasks which were started.
+     *
+     * @return the number of tasks which were started
+     */
+    public long arrivals() {
+        return arrivals;
+    }
+
+    /**
+     * Returns the number of tasks which did not finish before the timeout.
+     *
+     * @return the number of tasks which did not finish in time
+     */
+    public long unfinished() {
+        return unfinished;
+    }
+
+    /**
+     * Returns the rate at which the tasks were actually started.
+     *
+     * @return the number of started tasks per second
+     */
+    public double arrivalRate() {
+        return durationNanos == 0 ? 0 : arrivals * 1e9 / durationNanos;
+    }
+
+    /**
+     * Returns the rate at which the tasks were finished during the run.
+     *
+     * @return the number of finished tasks per second
+     */
+    public double throughput() {
+        long finished = statistics.successes() + statistics.failures();
+        return durationNanos == 0 ? 0 : finished * 1e9 / durationNanos;
+    }
+
+    /**
+     * Returns the largest delay between the intended start of a task and its submission to the racer threads.
+     * A large lag means that the schedule could not be kept by the caller thread.
+     *
+     * @return the largest dispatch lag in nanoseconds
+     */
+    public long maxDispatchLagNanos() {
+        return maxDispatchLagNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "OpenLoopResult{arrivals=" + arrivals + ", unfinished=" + unfinished
+                + ", arrivalRate=" + arrivalRate() + ", responseLatency=" + responseLatency
+                + ", statistics=" + statistics + "}";
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This class represents the frequency table of the outcome signatures of race rounds. Its memory grows with the
+ * number of distinct signatures, not with the number of rounds.
+ */
+public class OutcomeDistribution<K> {
+    private final Map<OutcomeSignature<K>, Long> frequencies = new LinkedHashMap<>();
+    private long rounds;
+
+    /**
+     * Records the signature of a race round.
+     *
+     * @param signature the signature of the race round
+     * @return true if the signature was recorded for the first time
+     */
+    public boolean record(OutcomeSignature<K> signature) {
+        rounds++;
+        return frequencies.merge(signature, 1L, Long::sum) == 1L;
+    }
+
+    /**
+     * Returns the number of recorded race rounds.
+     *
+     * @return the number of recorded race rounds
+     */
+    public long rounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns how often each signature was recorded, in the order the signatures first appeared.
+     *
+     * @return how often each signature was recorded
+     */
+    public Map<OutcomeSignature<K>, Long> frequencies() {
+        return Collections.unmodifiableMap(frequencies);
+    }
+
+    /**
+     * Returns how often the given signature was recorded.
+     *
+     * @param signature the signature to count
+     * @return how often the given signature was recorded
+     */
+    public long count(OutcomeSignature<K> signature) {
+        return frequencies.getOrDefault(signature, 0L);
+    }
+
+    /**
+     * Returns how many rounds had a signature matching the given predicate.
+     *
+     * @param predicate the predicate to match the signatures, for example
+     *                  {@code s -> s.succeeded("Mike") && s.failed("Derek")}
+     * @return how many rounds had a matching signature
+     */
+    public long count(Predicate<? super OutcomeSignature<K>> predicate) {
+        return frequencies.entrySet()
+                .stream()
+                .filter(entry -> predicate.test(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * Returns the share of rounds which had a signature matching the given predicate.
+     *
+     * @param predicate the predicate to match the signatures
+     * @return the share of matching rounds from 0 to 1, or 0 if no round is recorded
+     */
+    public double frequency(Predicate<? super OutcomeSignature<K>> predicate) {
+        return rounds == 0 ? 0 : (double) count(predicate) / rounds;
+    }
+
+    /**
+     * Returns how many rounds each task completed first in.
+     *
+     * @return how many rounds each task completed first in, by the keys of the tasks
+     */
+    public Map<K, Long> winners() {
+        return frequencies.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().winner() != null)
+                .collect(Collectors.groupingBy(entry -> entry.getKey().winner(), LinkedHashMap::new,
+                        Collectors.summingLong(Map.Entry::getValue)));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder("OutcomeDistribution{rounds=").append(rounds).append('}');
+        frequencies.entrySet()
+                .stream()
+                .sorted(Map.Entry.<OutcomeSignature<K>, Long>comparingByValue().reversed())
+                .forEach(entry -> table.append(System.lineSeparator())
+                        .append(String.format("%8d  %6.2f%%  ", entry.getValue(), 100.0 * entry.getValue() / rounds))
+                        .append(entry.getKey()));
+        return table.toString();
+    }
+}
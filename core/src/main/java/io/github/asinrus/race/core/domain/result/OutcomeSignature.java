@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * This class represents the outcome of a race round: which tasks succeeded or failed, the order in which they
+ * completed and an optional label given by a user classifier. Equal outcomes have equal signatures, so the
+ * signatures can be tallied across rounds.
+ */
+public class OutcomeSignature<K> {
+    private final Map<K, Outcome> outcomes;
+    private final List<K> completionOrder;
+    private final Object label;
+
+    /**
+     * Constructs a new OutcomeSignature with the given outcomes, completion order and label.
+     *
+     * @param outcomes        the outcomes of the tasks by their keys
+     * @param completionOrder the keys of the completed tasks in the order of completion
+     * @param label           the label given by a user classifier, or null
+     */
+    public OutcomeSignature(Map<K, Outcome> outcomes, List<K> completionOrder, Object label) {
+        this.outcomes = Collections.unmodifiableMap(new HashMap<>(outcomes));
+        this.completionOrder = List.copyOf(completionOrder);
+        this.label = label;
+    }
+
+    /**
+     * Returns the signature of the given race round.
+     *
+     * @param executionResult the result of the race round
+     * @return the signature of the given race round
+     */
+    public static <K> OutcomeSignature<K> of(ComplexExecutionResult<K, ?> executionResult) {
+        return new OutcomeSignature<>(outcomesOf(executionResult), executionResult.completionOrder(), null);
+    }
+
+    /**
+     * Returns the signature of the given race round labelled by the given classifier.
+     *
+     * @param executionResult the result of the race round
+     * @param classifier      the classifier which labels the race round, for example "lost update"
+     * @return the signature of the given race round
+     */
+    public static <K, T> OutcomeSignature<K> of(ComplexExecutionResult<K, T> executionResult,
+                                                Function<? super ComplexExecutionResult<K, T>, ?> classifier) {
+        return new OutcomeSignature<>(outcomesOf(executionResult), executionResult.completionOrder(),
+                classifier.apply(executionResult));
+    }
+
+    private static <K> Map<K, Outcome> outcomesOf(ComplexExecutionResult<K, ?> executionResult) {
+        Map<K, Outcome> outcomes = new HashMap<>();
+        executionResult.resultMap().forEach((key, result) -> outcomes.put(key, Outcome.of(result)));
+        return outcomes;
+    }
+
+    /**
+     * Returns the outcomes of the tasks by their keys.
+     *
+     * @return the outcomes of the tasks by their keys
+     */
+    public Map<K, Outcome> outcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Returns the outcome of the task with the given key.
+     *
+     * @param key the key of the task
+     * @return the outcome of the task, or null if there is no task with the given key
+     */
+    public Outcome outcome(K key) {
+        return outcomes.get(key);
+    }
+
+    /**
+     * Returns whether the task with the given key completed successfully.
+     *
+     * @param key the key of the task
+     * @return true if the task completed successfully
+     */
+    public boolean succeeded(K key) {
+        return outcomes.get(key) == Outcome.SUCCESS;
+    }
+
+    /**
+     * Returns whether the task with the given key completed with an error.
+     *
+     * @param key the key of the task
+     * @return true if the task completed with an error
+     */
+    public boolean failed(K key) {
+        return outcomes.get(key) == Outcome.FAILURE;
+    }
+
+    /**
+     * Returns the keys of the completed tasks in the order of completion.
+     *
+     * @return the keys of the completed tasks in the order of completion
+     */
+    public List<K> completionOrder() {
+        return completionOrder;
+    }
+
+    /**
+     * Returns the key of the task which completed first.
+     *
+     * @return the key of the task which completed first, or null if no task completed
+     */
+    public K winner() {
+        return completionOrder.isEmpty() ? null : completionOrder.get(0);
+    }
+
+    /**
+     * Returns the label given by the user classifier.
+     *
+     * @return the label given by the user classifier, or null if there is no classifier
+     */
+    public Object label() {
+        return label;
+    }
+
+    /**
+     * Returns this signature without the completion order, so rounds which differ only by the order of completion
+     * have equal signatures.
+     *
+     * @return this signature without the completion order
+     */
+    public OutcomeSignature<K> withoutCompletionOrder() {
+        return new OutcomeSignature<>(outcomes, List.of(), label);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OutcomeSignature<?> that = (OutcomeSignature<?>) o;
+        return outcomes.equals(that.outcomes)
+                && completionOrder.equals(that.completionOrder)
+                && Objects.equals(label, that.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(outcomes, completionOrder, label);
+    }
+
+    @Override
+    public String toString() {
+        return "OutcomeSignature{outcomes=" + outcomes + ", completionOrder=" + completionOrder
+                + (label == null ? "" : ", label=" + label) + "}";
+    }
+
+    /**
+     * This enum represents the outcome of a single task.
+     */
+    public enum Outcome {
+        /**
+         * The task completed successfully.
+         */
+        SUCCESS,
+        /**
+         * The task completed with an error.
+         */
+        FAILURE,
+        /**
+         * The task was cancelled.
+         */
+        CANCELLED;
+
+        /**
+         * Returns the outcome of the given task result.
+         *
+         * @param executionResult the result of the task
+         * @return the outcome of the given task result
+         */
+        public static Outcome of(TaskExecutionResult<?> executionResult) {
+            if (executionResult.isCancelled()) {
+                return CANCELLED;
+            }
+            return executionResult.isHasError() ? FAILURE : SUCCESS;
+        }
+    }
+}
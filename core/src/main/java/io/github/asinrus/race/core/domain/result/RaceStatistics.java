@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents the streaming aggregate of race rounds. It keeps counters, latency histograms, a bounded
+ * sample of failures and the frequencies of a bounded number of distinct results instead of the results of every
+ * round, so its memory does not grow with the number of rounds.
+ */
+public class RaceStatistics<T> {
+    /**
+     * The default number of failures kept as samples.
+     */
+    public static final int DEFAULT_FAILURE_SAMPLES = 10;
+    /**
+     * The default number of distinct results whose frequencies are counted.
+     */
+    public static final int DEFAULT_MAX_OUTCOMES = 64;
+    private static final Object NULL_OUTCOME = new Object();
+
+    private final int maxOutcomes;
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder otherOutcomes = new LongAdder();
+    private final Map<Class<? extends Throwable>, LongAdder> errorsByType = new ConcurrentHashMap<>();
+    private final Map<Object, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final Throwable[] failureSamples;
+    private final LatencyHistogram successLatency = new LatencyHistogram();
+    private final LatencyHistogram failureLatency = new LatencyHistogram();
+    private long sampledFailures;
+
+    /**
+     * Constructs a new RaceStatistics with the default bounds.
+     */
+    public RaceStatistics() {
+        this(DEFAULT_FAILURE_SAMPLES, DEFAULT_MAX_OUTCOMES);
+    }
+
+    /**
+     * Constructs a new RaceStatistics with the given bounds.
+     *
+     * @param failureSamples the number of failures kept as samples
+     * @param maxOutcomes    the number of distinct results whose frequencies are counted
+     */
+    public RaceStatistics(int failureSamples, int maxOutcomes) {
+        if (failureSamples < 0 || maxOutcomes < 0) {
+            throw new IllegalArgumentException("Bounds must not be negative, but were "
+                    + failureSamples + " and " + maxOutcomes);
+        }
+        this.failureSamples = new Throwable[failureSamples];
+        this.maxOutcomes = maxOutcomes;
+    }
+
+    /**
+     * Records the end of a race round.
+     */
+    public void recordRound() {
+        rounds.increment();
+    }
+
+    /**
+     * Records the result of a single task.
+     *
+     * @param executionResult the result of the task
+     */
+    public void record(TaskExecutionResult<? extends T> executionResult) {
+        if (executionResult.isCancelled()) {
+            cancelled.increment();
+            return;
+        }
+        long executionNanos = executionResult.executionNanos();
+        boolean timed = executionResult.startedNanos() != 0;
+        if (executionResult.isHasError()) {
+            failures.increment();
+            if (timed) {
+                failureLatency.record(executionNanos);
+            }
+            Throwable error = executionResult.error();
+            if (error != null) {
+                errorsByType.computeIfAbsent(error.getClass(), type -> new LongAdder()).increment();
+                sample(error);
+            }
+        } else {
+            successes.increment();
+            if (timed) {
+                successLatency.record(executionNanos);
+            }
+            countOutcome(executionResult.result());
+        }
+    }
+
+    /**
+     * Returns the number of recorded race rounds.
+     *
+     * @return the number of recorded race rounds
+     */
+    public long rounds() {
+        return rounds.sum();
+    }
+
+    /**
+     * Returns the number of tasks which completed successfully.
+     *
+     * @return the number of tasks which completed successfully
+     */
+    public long successes() {
+        return successes.sum();
+    }
+
+    /**
+     * Returns the number of tasks which completed with an error.
+     *
+     * @return the number of tasks which completed with an error
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Returns the number of tasks which were cancelled.
+     *
+     * @return the number of tasks which were cancelled
+     */
+    public long cancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * Returns the number of errors grouped by the class of the error.
+     *
+     * @return the number of errors grouped by the class of the error
+     */
+    public Map<Class<? extends Throwable>, Long> errorsByType() {
+        Map<Class<? extends Throwable>, Long> snapshot = new HashMap<>();
+        errorsByType.forEach((type, count) -> snapshot.put(type, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns a uniform sample of the errors, with their stack traces.
+     *
+     * @return a uniform sample of the errors
+     */
+    public synchronized List<Throwable> failureSamples() {
+        List<Throwable> samples = new ArrayList<>();
+        for (Throwable sample : failureSamples) {
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        return Collections.unmodifiableList(samples);
+    }
+
+    /**
+     * Returns how often each result was returned by the successful tasks. Only the first distinct results up to
+     * the configured bound are counted, the rest are counted by {@link #otherOutcomes()}.
+     *
+     * @return how often each result was returned
+     */
+    @SuppressWarnings("unchecked")
+    public Map<T, Long> outcomes() {
+        Map<T, Long> snapshot = new HashMap<>();
+        outcomes.forEach((outcome, count) -> snapshot.put(outcome == NULL_OUTCOME ? null : (T) outcome, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns the number of successful tasks whose results did not fit into the bound of distinct results.
+     *
+     * @return the number of successful tasks whose results were not counted by {@link #outcomes()}
+     */
+    public long otherOutcomes() {
+        return otherOutcomes.sum();
+    }
+
+    /**
+     * Returns the execution latencies of the tasks which completed successfully.
+     *
+     * @return the execution latencies of the successful tasks
+     */
+    public LatencyHistogram successLatency() {
+        return successLatency;
+    }
+
+    /**
+     * Returns the execution latencies of the tasks which completed with an error.
+     *
+     * @return the execution latencies of the failed tasks
+     */
+    public LatencyHistogram failureLatency() {
+        return failureLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "RaceStatistics{rounds=" + rounds() + ", successes=" + successes() + ", failures=" + failures()
+                + ", cancelled=" + cancelled() + ", errorsByType=" + errorsByType() + "}";
+    }
+
+    private void countOutcome(T result) {
+        Object outcome = Objects.requireNonNullElse(result, NULL_OUTCOME);
+        LongAdder count = outcomes.get(outcome);
+        if (count == null) {
+            count = outcomes.size() < maxOutcomes
+                    ? outcomes.computeIfAbsent(outcome, key -> new LongAdder())
+                    : otherOutcomes;
+        }
+        count.increment();
+    }
+
+    private synchronized void sample(Throwable error) {
+        if (failureSamples.length == 0) {
+            return;
+        }
+        sampledFailures++;
+        if (sampledFailures <= failureSamples.length) {
+            failureSamples[(int) (sampledFailures - 1)] = error;
+            return;
+        }
+        long slot = ThreadLocalRandom.current().nextLong(sampledFailures);
+        if (slot < failureSamples.length) {
+            failureSamples[(int) slot] = error;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * This class represents the result of a race of roles - the streaming aggregate of the racers of every role over
+ * all rounds. Its memory grows with the number of roles, not with the number of racers or rounds.
+ */
+public class RoleExecutionResult<T> {
+    private final Map<String, RaceStatistics<T>> roles;
+
+    /**
+     * Constructs a new RoleExecutionResult with the given aggregates of the roles.
+     *
+     * @param roles the aggregates of the racers of every role by the names of the roles
+     */
+    public RoleExecutionResult(Map<String, RaceStatistics<T>> roles) {
+        this.roles = Collections.unmodifiableMap(roles);
+    }
+
+    /**
+     * Returns the aggregate of the racers of the given role.
+     *
+     * @param role the name of the role
+     * @return the aggregate of the racers of the role, or null if there is no such role
+     */
+    public RaceStatistics<T> role(String role) {
+        return roles.get(role);
+    }
+
+    /**
+     * Returns the aggregates of the racers of every role.
+     *
+     * @return the aggregates of the racers of every role by the names of the roles, in the order the roles were added
+     */
+    public Map<String, RaceStatistics<T>> roles() {
+        return roles;
+    }
+
+    @Override
+    public String toString() {
+        return "RoleExecutionResult{roles=" + roles + "}";
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.List;
+
+/**
+ * This class represents the result of a soak race, where every racer called its task in a loop until the end of
+ * the soak. Besides the totals it keeps the snapshot of every interval, so a degradation over time can be seen.
+ */
+public class SoakResult {
+    private final List<SoakSnapshot> snapshots;
+    private final long operations;
+    private final long errors;
+    private final LatencyHistogram latency;
+    private final List<Throwable> errorSamples;
+    private final long durationNanos;
+
+    /**
+     * Constructs a new SoakResult.
+     *
+     * @param snapshots     the snapshots of the intervals in the order of the intervals
+     * @param operations    the number of calls which finished, successful or not
+     * @param errors        the number of calls which failed
+     * @param latency       the latencies of the successful calls
+     * @param errorSamples  the first errors of the soak
+     * @param durationNanos the time between the start of the soak and the end of the last call
+     */
+    public SoakResult(List<SoakSnapshot> snapshots, long operations, long errors, LatencyHistogram latency,
+                      List<Throwable> errorSamples, long durationNanos) {
+        this.snapshots = List.copyOf(snapshots);
+        this.operations = operations;
+        this.errors = errors;
+        this.latency = latency;
+        this.errorSamples = List.copyOf(errorSamples);
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Returns the snapshots of the intervals in the order of the intervals.
+     *
+     * @return the snapshots of the intervals
+     */
+    public List<SoakSnapshot> snapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Returns the number of calls which finished, successful or not.
+     *
+     * @return the number of calls which finished
+     */
+    public long operations() {
+        return operations;
+    }
+
+    /**
+     * Returns the number of calls which failed.
+     *
+     * @return the number of calls which failed
+     */
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * Returns the latencies of the successful calls of the whole soak.
+     *
+     * @return the latencies of the successful calls
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * Returns the first errors of the soak, at most {@link RaceStatistics#DEFAULT_FAILURE_SAMPLES} of them.
+     *
+     * @return the first errors of the soak
+     */
+    public List<Throwable> errorSamples() {
+        return errorSamples;
+    }
+
+    /**
+     * Returns the time between the start of the soak and the end of the last call.
+     *
+     * @return the duration of the soak in nanoseconds
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Returns the number of calls finished per second over the whole soak.
+     *
+     * @return the number of calls finished per second
+     */
+    public double throughput() {
+        return durationNanos == 0 ? 0 : operations * 1e9 / durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SoakResult{operations=" + operations + ", errors=" + errors + ", throughput=" + (long) throughput()
+                + ", intervals=" + snapshots.size() + ", latency=" + latency + "}";
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+/**
+ * This class represents the throughput, the error rate and the latency percentiles of a soak race during one
+ * interval. The snapshots of consecutive intervals show how a system degrades while it is kept under load.
+ */
+public class SoakSnapshot {
+    private final int interval;
+    private final long offsetNanos;
+    private final long durationNanos;
+    private final long operations;
+    private final long errors;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+
+    /**
+     * Constructs a new SoakSnapshot.
+     *
+     * @param interval      the number of the interval, starting with 0
+     * @param offsetNanos   the time between the start of the soak and the start of the interval
+     * @param durationNanos the length of the interval
+     * @param operations    the number of calls which finished during the interval
+     * @param errors        the number of calls which failed during the interval
+     * @param latency       the latencies of the successful calls of the interval
+     */
+    public SoakSnapshot(int interval, long offsetNanos, long durationNanos, long operations, long errors,
+                        LatencyHistogram latency) {
+        this.interval = interval;
+        this.offsetNanos = offsetNanos;
+        this.durationNanos = durationNanos;
+        this.operations = operations;
+        this.errors = errors;
+        this.p50 = latency.p50();
+        this.p90 = latency.p90();
+        this.p99 = latency.p99();
+        this.max = latency.max();
+    }
+
+    /**
+     * Returns the number of the interval, starting with 0.
+     *
+     * @return the number of the interval
+     */
+    public int interval() {
+        return interval;
+    }
+
+    /**
+     * Returns the time between the start of the soak and the start of the interval.
+     *
+     * @return the start of the interval in nanoseconds since the start of the soak
+     */
+    public long offsetNanos() {
+        return offsetNanos;
+    }
+
+    /**
+     * Returns the length of the interval. The last interval may be shorter than the others.
+     *
+     * @return the length of the interval in nanoseconds
+     */
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Returns the number of calls which finished during the interval, successful or not.
+     *
+     * @return the number of calls which finished during the interval
+     */
+    public long operations() {
+        return operations;
+    }
+
+    /**
+     * Returns the number of calls which failed during the interval.
+     *
+     * @return the number of calls which failed during the interval
+     */
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * Returns the number of calls finished per second during the interval.
+     *
+     * @return the number of calls finished per second
+     */
+    public double operationsPerSecond() {
+        return durationNanos == 0 ? 0 : operations * 1e9 / durationNanos;
+    }
+
+    /**
+     * Returns the number of calls failed per second during the interval.
+     *
+     * @return the number of calls failed per second
+     */
+    public double errorsPerSecond() {
+        return durationNanos == 0 ? 0 : errors * 1e9 / durationNanos;
+    }
+
+    /**
+     * Returns the median latency of the successful calls of the interval.
+     *
+     * @return the median latency in nanoseconds, or 0 if no call succeeded
+     */
+    public long p50() {
+        return p50;
+    }
+
+    /**
+     * Returns the 90th percentile of the latencies of the successful calls of the interval.
+     *
+     * @return the 90th percentile in nanoseconds, or 0 if no call succeeded
+     */
+    public long p90() {
+        return p90;
+    }
+
+    /**
+     * Returns the 99th percentile of the latencies of the successful calls of the interval.
+     *
+     * @return the 99th percentile in nanoseconds, or 0 if no call succeeded
+     */
+    public long p99() {
+        return p99;
+    }
+
+    /**
+     * Returns the largest latency of the successful calls of the interval.
+     *
+     * @return the largest latency in nanoseconds, or 0 if no call succeeded
+     */
+    public long max() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "SoakSnapshot{interval=" + interval + ", operationsPerSecond=" + (long) operationsPerSecond()
+                + ", errorsPerSecond=" + (long) errorsPerSecond() + ", p50=" + p50 + ", p90=" + p90
+                + ", p99=" + p99 + ", max=" + max + "}";
+    }
+}
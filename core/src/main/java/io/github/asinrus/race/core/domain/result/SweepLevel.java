@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+/**
+ * This class represents the result of a race at one concurrency level of a sweep.
+ */
+public class SweepLevel {
+    private final int concurrency;
+    private final long rounds;
+    private final long successes;
+    private final long failures;
+    private final long racingNanos;
+    private final LatencyHistogram latency;
+
+    /**
+     * Constructs a new SweepLevel.
+     *
+     * @param concurrency the number of racers
+     * @param rounds      the number of rounds run at this level
+     * @param successes   the number of tasks which completed successfully
+     * @param failures    the number of tasks which completed with an error
+     * @param racingNanos the sum of the times from the first racer passing the gate to the last racer finishing,
+     *                    over all rounds
+     * @param latency     the execution latencies of the tasks which completed successfully
+     */
+    public SweepLevel(int concurrency, long rounds, long successes, long failures, long racingNanos,
+                      LatencyHistogram latency) {
+        this.concurrency = concurrency;
+        this.rounds = rounds;
+        this.successes = successes;
+        this.failures = failures;
+        this.racingNanos = racingNanos;
+        this.latency = latency;
+    }
+
+    /**
+     * Returns the number of racers.
+     *
+     * @return the number of racers
+     */
+    public int concurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Returns the number of rounds run at this level.
+     *
+     * @return the number of rounds run at this level
+     */
+    public long rounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the number of tasks which completed successfully.
+     *
+     * @return the number of tasks which completed successfully
+     */
+    public long successes() {
+        return successes;
+    }
+
+    /**
+     * Returns the number of tasks which completed with an error.
+     *
+     * @return the number of tasks which completed with an error
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * Returns the share of tasks which completed with an error.
+     *
+     * @return the share of failed tasks from 0 to 1
+     */
+    public double errorRate() {
+        long completed = successes + failures;
+        return completed == 0 ? 0 : (double) failures / completed;
+    }
+
+    /**
+     * Returns how many tasks completed per second while the racers were running.
+     *
+     * @return the number of completed tasks per second
+     */
+    public double throughput() {
+        return racingNanos == 0 ? 0 : (successes + failures) * 1e9 / racingNanos;
+    }
+
+    /**
+     * Returns the execution latencies of the tasks which completed successfully.
+     *
+     * @return the execution latencies of the successful tasks
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%11d  %6d  %12.1f  %9.2f%%  %10d  %10d", concurrency, rounds, throughput(),
+                100 * errorRate(), latency.p50() / 1000, latency.p99() / 1000);
+    }
+}
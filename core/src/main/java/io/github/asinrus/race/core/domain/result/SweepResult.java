@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+import java.util.List;
+
+/**
+ * This class represents the result of a concurrency sweep - a table of the results of a race at every concurrency
+ * level. The knee is the last level after which the scaling efficiency of the added racers falls below the given
+ * minimum. The scaling efficiency compares the growth of the throughput with the growth of the concurrency, so it
+ * does not depend on whether the levels grow linearly or geometrically.
+ */
+public class SweepResult {
+    /**
+     * The default minimum scaling efficiency of the racers added from one level to the next: the added racers must
+     * deliver at least half of the throughput they would deliver if the throughput grew with the concurrency.
+     */
+    public static final double DEFAULT_MIN_SCALING_EFFICIENCY = 0.5;
+
+    private final List<SweepLevel> levels;
+    private final SweepLevel knee;
+
+    /**
+     * Constructs a new SweepResult with the given levels and finds the knee with the default minimum scaling
+     * efficiency.
+     *
+     * @param levels the results of the levels, in the order they were run
+     */
+    public SweepResult(List<SweepLevel> levels) {
+        this(levels, DEFAULT_MIN_SCALING_EFFICIENCY);
+    }
+
+    /**
+     * Constructs a new SweepResult with the given levels and finds the knee.
+     *
+     * @param levels               the results of the levels, in the order they were run
+     * @param minScalingEfficiency the minimum scaling efficiency of the racers added from one level to the next,
+     *                             1 if the throughput must grow with the concurrency
+     */
+    public SweepResult(List<SweepLevel> levels, double minScalingEfficiency) {
+        this.levels = List.copyOf(levels);
+        this.knee = findKnee(this.levels, minScalingEfficiency);
+    }
+
+    private static SweepLevel findKnee(List<SweepLevel> levels, double minScalingEfficiency) {
+        for (int i = 0; i + 1 < levels.size(); i++) {
+            if (addedScalingEfficiency(levels.get(i), levels.get(i + 1)) < minScalingEfficiency) {
+                return levels.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the scaling efficiency of the racers added from one level to the next. The scaling efficiency of
+     * the next level against the previous one is {@code (t2 / t1) / (c2 / c1)}, which is 1 when the throughput
+     * grows with the concurrency and {@code c1 / c2} when it does not grow at all. It is rescaled to the added
+     * racers, so it is 1 when the throughput grows with the concurrency and 0 when it does not grow, for small and
+     * large steps alike.
+     */
+    private static double addedScalingEfficiency(SweepLevel previous, SweepLevel next) {
+        double concurrencyGrowth = (double) next.concurrency() / previous.concurrency();
+        if (previous.throughput() == 0 || concurrencyGrowth <= 1) {
+            return 1;
+        }
+        double scalingEfficiency = next.throughput() / previous.throughput() / concurrencyGrowth;
+        return (scalingEfficiency * concurrencyGrowth - 1) / (concurrencyGrowth - 1);
+    }
+
+    /**
+     * Returns the results of the levels.
+     *
+     * @return the results of the levels, in the order they were run
+     */
+    public List<SweepLevel> levels() {
+        return levels;
+    }
+
+    /**
+     * Returns the result of the given concurrency level.
+     *
+     * @param concurrency the number of racers
+     * @return the result of the level, or null if the level was not run
+     */
+    public SweepLevel level(int concurrency) {
+        return levels.stream()
+                .filter(level -> level.concurrency() == concurrency)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Returns the knee of the sweep - the last level after which the throughput stops scaling.
+     *
+     * @return the knee of the sweep, or null if the throughput scaled up to the last level
+     */
+    public SweepLevel knee() {
+        return knee;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder("concurrency  rounds  throughput/s  errorRate  p50 micros  p99 micros");
+        levels.forEach(level -> table.append(System.lineSeparator())
+                .append(level)
+                .append(level == knee ? "  <- knee" : ""));
+        return table.toString();
+    }
+}
@@ -13,6 +13,7 @@
 package io.github.asinrus.race.core.domain.result;
 
 import io.github.asinrus.race.core.FutureRaceTestSuit;
+import io.github.asinrus.race.core.GatedTask;
 
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -25,6 +26,16 @@ public class TaskExecutionResult<T> {
     private final T result;
     private final Throwable error;
     private final boolean isHasError;
+    private final boolean isCancelled;
+    private final long queuedNanos;
+    private final long releasedNanos;
+    private final long startedNanos;
+    private final long finishedNanos;
+    private final long delayNanos;
+    private final long setupNanos;
+    private final ThreadUsage threadUsage;
+    private volatile long teardownNanos;
+    private volatile Throwable teardownError;
 
     /**
      * Constructs a new TaskExecutionResult with the given result, error, and error flag.
@@ -34,9 +45,49 @@ public class TaskExecutionResult<T> {
      * @param isHasError a flag indicating whether an error occurred during the task execution
      */
     public TaskExecutionResult(T result, Throwable error, boolean isHasError) {
+        this(result, error, isHasError, 0, 0, 0, 0);
+    }
+
+    /**
+     * Constructs a new TaskExecutionResult with the given result, error, error flag and timestamps.
+     * The timestamps are {@link System#nanoTime()} values, 0 means that the stage was not reached.
+     *
+     * @param result        the result of the task execution
+     * @param error         the error that occurred during the task execution, if any
+     * @param isHasError    a flag indicating whether an error occurred during the task execution
+     * @param queuedNanos   the time the task was submitted to the executor
+     * @param releasedNanos the time the task passed the start gate
+     * @param startedNanos  the time the task entered the callable
+     * @param finishedNanos the time the callable returned or failed
+     */
+    public TaskExecutionResult(T result, Throwable error, boolean isHasError,
+                               long queuedNanos, long releasedNanos, long startedNanos, long finishedNanos) {
         this.result = result;
         this.error = error;
         this.isHasError = isHasError;
+        this.isCancelled = false;
+        this.queuedNanos = queuedNanos;
+        this.releasedNanos = releasedNanos;
+        this.startedNanos = startedNanos;
+        this.finishedNanos = finishedNanos;
+        this.delayNanos = 0;
+        this.setupNanos = 0;
+        this.threadUsage = null;
+    }
+
+    private TaskExecutionResult(T result, Throwable error, boolean isHasError, boolean isCancelled,
+                                GatedTask<T> gatedTask) {
+        this.result = result;
+        this.error = error;
+        this.isHasError = isHasError;
+        this.isCancelled = isCancelled;
+        this.queuedNanos = gatedTask.queuedNanos();
+        this.releasedNanos = gatedTask.releasedNanos();
+        this.startedNanos = gatedTask.startedNanos();
+        this.finishedNanos = gatedTask.finishedNanos();
+        this.delayNanos = gatedTask.delayNanos();
+        this.setupNanos = gatedTask.setupNanos();
+        this.threadUsage = gatedTask.threadUsage();
     }
 
     /**
@@ -52,13 +103,39 @@ public class TaskExecutionResult<T> {
         } catch (CancellationException | InterruptedException exception) {
             return new TaskExecutionResult<>(null, exception, true);
         } catch (ExecutionException | FutureRaceTestSuit.RuntimeExecutionException exception ) {
-            Throwable cause = exception.getCause();
-            // TODO: think how to make it better
-            if (cause instanceof FutureRaceTestSuit.RuntimeExecutionException) {
-                return new TaskExecutionResult<>(null, exception.getCause().getCause(), true);
-            } else {
-                return new TaskExecutionResult<>(null, exception.getCause(), true);
-            }
+            return new TaskExecutionResult<>(null, unwrap(exception), true);
+        }
+    }
+
+    private static Throwable unwrap(Exception exception) {
+        Throwable cause = exception.getCause();
+        // TODO: think how to make it better
+        if (cause instanceof FutureRaceTestSuit.RuntimeExecutionException) {
+            return cause.getCause();
+        } else {
+            return cause;
+        }
+    }
+
+    /**
+     * Returns a new TaskExecutionResult based on the given Future and the timestamps recorded by the racer task.
+     * The racer task must be completed or cancelled. A cancelled task is not treated as failed.
+     *
+     * @param task      the Future to base the TaskExecutionResult on
+     * @param gatedTask the racer task which recorded the timestamps
+     * @param <T>       - operation result type
+     * @return a new TaskExecutionResult based on the given Future
+     */
+    public static <T> TaskExecutionResult<T> formExecutionResult(Future<T> task, GatedTask<T> gatedTask) {
+        if (task.isCancelled()) {
+            return new TaskExecutionResult<>(null, null, false, true, gatedTask);
+        }
+        try {
+            return new TaskExecutionResult<>(task.get(), null, false, false, gatedTask);
+        } catch (ExecutionException exception) {
+            return new TaskExecutionResult<>(null, unwrap(exception), true, false, gatedTask);
+        } catch (InterruptedException exception) {
+            return new TaskExecutionResult<>(null, exception, true, false, gatedTask);
         }
     }
 
@@ -88,4 +165,122 @@ public class TaskExecutionResult<T> {
     public boolean isHasError() {
         return isHasError;
     }
+
+    /**
+     * Returns a flag indicating whether the task was cancelled by the race before it completed.
+     * A cancelled task has neither a result nor an error.
+     *
+     * @return a flag indicating whether the task was cancelled
+     */
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    /**
+     * Returns the time the task was submitted to the executor.
+     *
+     * @return the {@link System#nanoTime()} the task was submitted to the executor, or 0 if it is unknown
+     */
+    public long queuedNanos() {
+        return queuedNanos;
+    }
+
+    /**
+     * Returns the time the task passed the start gate.
+     *
+     * @return the {@link System#nanoTime()} the task passed the start gate, or 0 if it did not pass the gate
+     */
+    public long releasedNanos() {
+        return releasedNanos;
+    }
+
+    /**
+     * Returns the time the task entered the callable.
+     *
+     * @return the {@link System#nanoTime()} the task entered the callable, or 0 if it was not called
+     */
+    public long startedNanos() {
+        return startedNanos;
+    }
+
+    /**
+     * Returns the time the callable returned or failed.
+     *
+     * @return the {@link System#nanoTime()} the callable returned or failed, or 0 if it was not called
+     */
+    public long finishedNanos() {
+        return finishedNanos;
+    }
+
+    /**
+     * Returns the delay the task waited between passing the start gate and entering the callable.
+     *
+     * @return the delay given by the delay schedule in nanoseconds
+     */
+    public long delayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Returns how long the setup hook of the racer was running. The setup runs before the start gate and is not
+     * a part of the execution time.
+     *
+     * @return the time of the setup in nanoseconds, or 0 if there is no setup
+     */
+    public long setupNanos() {
+        return setupNanos;
+    }
+
+    /**
+     * Returns how long the teardown hook of the racer was running. The teardown runs after the task is completed
+     * and is not a part of the execution time. It is set once the teardowns of the round are finished, so in
+     * a completion callback it is not set yet.
+     *
+     * @return the time of the teardown in nanoseconds, or 0 if there is no teardown or it was not finished when
+     * the round was over
+     */
+    public long teardownNanos() {
+        return teardownNanos;
+    }
+
+    /**
+     * Returns the error of the teardown hook of the racer. A failed teardown does not change the outcome of the task.
+     *
+     * @return the error of the teardown, or null if there is none or the teardown was not finished when the round
+     * was over
+     */
+    public Throwable teardownError() {
+        return teardownError;
+    }
+
+    /**
+     * Sets the time and the error of the teardown hook of the racer once the teardown is finished.
+     *
+     * @param teardownNanos the time of the teardown in nanoseconds
+     * @param teardownError the error of the teardown, or null if there is none
+     */
+    public void setTeardown(long teardownNanos, Throwable teardownError) {
+        this.teardownNanos = teardownNanos;
+        this.teardownError = teardownError;
+    }
+
+    /**
+     * Returns how long the callable was running.
+     *
+     * @return the time between entering and leaving the callable in nanoseconds, or 0 if it was not called
+     */
+    public long executionNanos() {
+        return startedNanos == 0 || finishedNanos == 0 ? 0 : finishedNanos - startedNanos;
+    }
+
+    /**
+     * Returns what the racer thread did while it was running the callable: its CPU time, blocked and waited times
+     * and allocated bytes. It is measured only if
+     * {@link io.github.asinrus.race.core.Configuration#isThreadUsageEnabled()}.
+     *
+     * @return the usage of the racer thread, or null if it was not measured
+     */
+    public ThreadUsage threadUsage() {
+        return threadUsage;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.domain.result;
+
+/**
+ * This class represents what a racer thread did while it was running the task: the CPU time it used, how often and
+ * how long it was blocked on a monitor or waiting, and how many bytes it allocated. A value the JVM does not
+ * measure for the thread is reported as -1.
+ */
+public final class ThreadUsage {
+    /**
+     * The value of a measurement the JVM does not support.
+     */
+    public static final long UNSUPPORTED = -1;
+
+    private final long cpuNanos;
+    private final long blockedCount;
+    private final long blockedNanos;
+    private final long waitedCount;
+    private final long waitedNanos;
+    private final long allocatedBytes;
+
+    /**
+     * Constructs a new ThreadUsage.
+     *
+     * @param cpuNanos       the CPU time used by the thread in nanoseconds
+     * @param blockedCount   how many times the thread blocked to enter a monitor
+     * @param blockedNanos   how long the thread was blocked to enter a monitor in nanoseconds
+     * @param waitedCount    how many times the thread waited or parked
+     * @param waitedNanos    how long the thread waited or parked in nanoseconds
+     * @param allocatedBytes how many bytes the thread allocated
+     */
+    public ThreadUsage(long cpuNanos, long blockedCount, long blockedNanos, long waitedCount, long waitedNanos,
+                       long allocatedBytes) {
+        this.cpuNanos = cpuNanos;
+        this.blockedCount = blockedCount;
+        this.blockedNanos = blockedNanos;
+        this.waitedCount = waitedCount;
+        this.waitedNanos = waitedNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the CPU time used by the thread.
+     *
+     * @return the CPU time in nanoseconds, or {@link #UNSUPPORTED}
+     */
+    public long cpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * Returns how many times the thread blocked to enter or reenter a monitor.
+     *
+     * @return the number of times the thread blocked, or {@link #UNSUPPORTED}
+     */
+    public long blockedCount() {
+        return blockedCount;
+    }
+
+    /**
+     * Returns how long the thread was blocked to enter or reenter a monitor.
+     *
+     * @return the blocked time in nanoseconds, or {@link #UNSUPPORTED}
+     */
+    public long blockedNanos() {
+        return blockedNanos;
+    }
+
+    /**
+     * Returns how many times the thread waited for a notification or was parked, for example on a lock.
+     *
+     * @return the number of times the thread waited, or {@link #UNSUPPORTED}
+     */
+    public long waitedCount() {
+        return waitedCount;
+    }
+
+    /**
+     * Returns how long the thread waited for a notification or was parked.
+     *
+     * @return the waited time in nanoseconds, or {@link #UNSUPPORTED}
+     */
+    public long waitedNanos() {
+        return waitedNanos;
+    }
+
+    /**
+     * Returns how many bytes the thread allocated.
+     *
+     * @return the number of allocated bytes, or {@link #UNSUPPORTED}
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the sum of this usage and the given one. A value which is not measured in either of them is not
+     * measured in the sum.
+     *
+     * @param other the usage to add
+     * @return the sum of the usages
+     */
+    public ThreadUsage plus(ThreadUsage other) {
+        return new ThreadUsage(sum(cpuNanos, other.cpuNanos),
+                sum(blockedCount, other.blockedCount),
+                sum(blockedNanos, other.blockedNanos),
+                sum(waitedCount, other.waitedCount),
+                sum(waitedNanos, other.waitedNanos),
+                sum(allocatedBytes, other.allocatedBytes));
+    }
+
+    private static long sum(long value, long other) {
+        return value == UNSUPPORTED || other == UNSUPPORTED ? UNSUPPORTED : value + other;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadUsage{cpuNanos=" + cpuNanos + ", blockedCount=" + blockedCount + ", blockedNanos=" + blockedNanos
+                + ", waitedCount=" + waitedCount + ", waitedNanos=" + waitedNanos
+                + ", allocatedBytes=" + allocatedBytes + "}";
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents the JFR event of the start gate of a race round. It lasts from the start of the round until
+ * the gate is opened and is committed right away, so it is recorded even if the round fails afterwards. The start
+ * skew of the racers is known only once they have passed the gate and is reported in the result of the round.
+ */
+@Name("io.github.asinrus.race.GateRelease")
+@Label("Gate Release")
+@Category("Race")
+@Description("The racers arrive at the start gate and the gate is opened")
+@StackTrace(false)
+public final class GateReleaseEvent extends Event {
+    @Label("Racers")
+    int racers;
+
+    /**
+     * Commits the event if it is enabled in a running recording. Must be called as soon as the gate is opened.
+     *
+     * @param racers the number of racers of the round
+     */
+    public void commit(int racers) {
+        if (shouldCommit()) {
+            this.racers = racers;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.jfr;
+
+/**
+ * This class tells whether the JFR events of the races can be used. The events need the {@code jdk.jfr} module,
+ * which is missing from some runtimes, for example the ones built by jlink without it. The event classes must not
+ * be touched if the module is missing, so every use of an event is guarded by {@link #isAvailable()}.
+ */
+public final class RaceEvents {
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private RaceEvents() {
+    }
+
+    /**
+     * Returns whether the JFR events of the races can be used. It is checked once.
+     *
+     * @return whether the {@code jdk.jfr} module is present in the runtime
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static boolean checkAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, RaceEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
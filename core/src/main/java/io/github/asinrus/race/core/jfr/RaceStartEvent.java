@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents the JFR event of the start of a race round, when the racers are submitted to the engine.
+ */
+@Name("io.github.asinrus.race.RaceStart")
+@Label("Race Start")
+@Category("Race")
+@Description("A race round is started, the racers are submitted to the engine")
+@StackTrace(false)
+public final class RaceStartEvent extends Event {
+    @Label("Racers")
+    int racers;
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Gate Mode")
+    String gateMode;
+
+    @Label("Schedule Seed")
+    long scheduleSeed;
+
+    /**
+     * Commits the event if it is enabled in a running recording.
+     *
+     * @param racers       the number of racers of the round
+     * @param engine       the name of the engine the racers run on
+     * @param gateMode     the way the racers wait at the start gate
+     * @param scheduleSeed the seed of the delay schedule of the round
+     */
+    public void commit(int racers, String engine, String gateMode, long scheduleSeed) {
+        if (shouldCommit()) {
+            this.racers = racers;
+            this.engine = engine;
+            this.gateMode = gateMode;
+            this.scheduleSeed = scheduleSeed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This class represents the JFR event of a race round which ran out of time, either while the racers were arriving
+ * at the start gate or while they were running their tasks.
+ */
+@Name("io.github.asinrus.race.RaceTimeout")
+@Label("Race Timeout")
+@Category("Race")
+@Description("A race round ran out of time")
+@StackTrace(false)
+public final class RaceTimeoutEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Timeout")
+    @Timespan(Timespan.NANOSECONDS)
+    long timeout;
+
+    @Label("Unfinished Racers")
+    int unfinished;
+
+    /**
+     * Commits the event if it is enabled in a running recording.
+     *
+     * @param phase        the phase of the race round which ran out of time
+     * @param timeoutNanos the timeout of the race round
+     * @param unfinished   the number of racers which did not finish the phase
+     */
+    public void commit(String phase, long timeoutNanos, int unfinished) {
+        if (shouldCommit()) {
+            this.phase = phase;
+            this.timeout = timeoutNanos;
+            this.unfinished = unfinished;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents the JFR event of a racer which was cancelled by the race round. It lasts from the
+ * cancellation until the racer stopped, or until the end of the grace period if the racer ignored the interrupt.
+ */
+@Name("io.github.asinrus.race.RacerCancellation")
+@Label("Racer Cancellation")
+@Category("Race")
+@Description("A racer is cancelled by the race round")
+@StackTrace(false)
+public final class RacerCancellationEvent extends Event {
+    @Label("Key")
+    String key;
+
+    @Label("Policy")
+    String policy;
+
+    @Label("Ignored Interrupt")
+    boolean ignoredInterrupt;
+
+    @Label("Racer Thread")
+    String racerThread;
+
+    /**
+     * Ends the event and commits it if it is enabled in a running recording.
+     *
+     * @param key         the key of the racer
+     * @param policy      the cancellation policy of the race round
+     * @param racerThread the name of the racer thread which ignored the interrupt, or null if the racer stopped
+     */
+    public void commit(Object key, String policy, String racerThread) {
+        end();
+        if (shouldCommit()) {
+            this.key = String.valueOf(key);
+            this.policy = policy;
+            this.ignoredInterrupt = racerThread != null;
+            this.racerThread = racerThread;
+            commit();
+        }
+    }
+}
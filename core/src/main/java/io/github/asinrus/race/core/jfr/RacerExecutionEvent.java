@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 Arkadii Osheev
+ *
+ * Permission is granted to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of this software, subject to including this copyright notice
+ * and permission notice in all copies or substantial portions of the software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND.
+ */
+
+package io.github.asinrus.race.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class represents the JFR event of a racer running its task after passing the start gate. It is committed
+ * on the racer thread, so it lines up with the other events of the thread, like socket reads or lock waits.
+ */
+@Name("io.github.asinrus.race.RacerExecution")
+@Label("Racer Execution")
+@Category("Race")
+@Description("A racer runs its task after passing the start gate")
+@StackTrace(false)
+public final class RacerExecutionEvent extends Event {
+    /**
+     * The outcome of a task which returned a result.
+     */
+    public static final String SUCCESS = "SUCCESS";
+    /**
+     * The outcome of a task which failed.
+     */
+    public static final String FAILURE = "FAILURE";
+
+    @Label("Key")
+    String key;
+
+    @Label("Index")
+    int index;
+
+    @Label("Iteration")
+    int iteration;
+
+    @Label("Warm-up")
+    boolean warmup;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Error")
+    Class<?> error;
+
+    /**
+     * Ends the event and commits it if it is enabled in a running recording.
+     *
+     * @param key       the key of the racer, or null if it is unknown
+     * @param index     the index of the racer
+     * @param iteration the number of the race round
+     * @param warmup    whether the round is a warm-up round
+     * @param error     the error of the task, or null if the task returned a result
+     */
+    public void commit(Object key, int index, int iteration, boolean warmup, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            this.key = key == null ? null : String.valueOf(key);
+            this.index = index;
+            this.iteration = iteration;
+            this.warmup = warmup;
+            this.outcome = error == null ? SUCCESS : FAILURE;
+            this.error = error == null ? null : error.getClass();
+            commit();
+        }
+    }
+}
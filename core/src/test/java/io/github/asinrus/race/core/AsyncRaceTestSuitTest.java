@@ -0,0 +1,93 @@
+package io.github.asinrus.race.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static io.github.asinrus.race.core.RaceTestSuitRegistry.raceAsync;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncRaceTestSuitTest {
+
+    @Test
+    void testManyOperationsOnOneLauncher() {
+        Map<Integer, Supplier<CompletionStage<Integer>>> suppliers = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            int number = i;
+            suppliers.put(i, () -> CompletableFuture.supplyAsync(() -> number,
+                    CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)));
+        }
+
+        raceAsync(suppliers)
+                .withLaunchers(1)
+                .withAssertion(res -> {
+                    assertEquals(100, res.resultMap().size());
+                    assertEquals(100, res.completionOrder().size());
+                    res.resultMap().forEach((key, result) -> {
+                        assertFalse(result.isHasError());
+                        assertEquals(key, result.result());
+                    });
+                })
+                .go();
+    }
+
+    @Test
+    void testEveryOperationHasOwnLauncherByDefault() {
+        Set<Thread> launchers = ConcurrentHashMap.newKeySet();
+        Map<Integer, Supplier<CompletionStage<Integer>>> suppliers = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            int number = i;
+            suppliers.put(i, () -> {
+                launchers.add(Thread.currentThread());
+                return CompletableFuture.completedFuture(number);
+            });
+        }
+
+        raceAsync(suppliers)
+                .withAssertion(res -> assertEquals(4, res.completionOrder().size()))
+                .go();
+        assertEquals(4, launchers.size());
+    }
+
+    @Test
+    void testFailedOperations() {
+        Map<String, Supplier<CompletionStage<String>>> suppliers = Map.of(
+                "failedStage", () -> CompletableFuture.failedFuture(new IllegalStateException("Conflict")),
+                "failedSupplier", () -> {
+                    throw new IllegalArgumentException("No connection");
+                },
+                "succeeded", () -> CompletableFuture.completedFuture("Saved"));
+
+        raceAsync(suppliers)
+                .withLaunchers(3)
+                .withAssertion(res -> {
+                    assertInstanceOf(IllegalStateException.class, res.get("failedStage").error());
+                    assertInstanceOf(IllegalArgumentException.class, res.get("failedSupplier").error());
+                    assertEquals("Saved", res.get("succeeded").result());
+                    assertTrue(res.startSkewNanos() >= 0);
+                })
+                .go();
+    }
+
+    @Test
+    void testTimeoutFailed() {
+        Map<String, Supplier<CompletionStage<String>>> suppliers = Map.of("never", CompletableFuture::new);
+
+        BoundRaceExecutorImpl.ExecutionException executionException = assertThrows(
+                BoundRaceExecutorImpl.ExecutionException.class,
+                () -> raceAsync(suppliers).withTimeout(Duration.ofMillis(100)).go());
+        assertEquals(RacePhase.EXECUTION, executionException.phase());
+    }
+}
@@ -1,17 +1,32 @@
 package io.github.asinrus.race.core;
 
+import io.github.asinrus.race.core.domain.result.LatencyHistogram;
+import io.github.asinrus.race.core.domain.result.RaceStatistics;
+import io.github.asinrus.race.core.domain.result.SweepLevel;
+import io.github.asinrus.race.core.domain.result.SweepResult;
+import io.github.asinrus.race.core.domain.result.ThreadUsage;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static io.github.asinrus.race.core.RaceTestSuitRegistry.race;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BasicRaceTest {
     static private class Holder {
@@ -60,4 +75,239 @@ public class BasicRaceTest {
                 })
                 .go();
     }
+
+    @Test
+    void repeatedTest() {
+        race(() -> 1)
+                .withConfiguration(
+                        Configuration.builder()
+                                .setNumThreads(3)
+                                .build()
+                )
+                .repeat(10)
+                .withAssertion(executionResult -> assertEquals(3, executionResult.results().size()))
+                .withAggregateAssertion(executionResult -> {
+                    assertEquals(30, executionResult.results().size());
+                    assertTrue(executionResult.errors().isEmpty());
+                })
+                .go();
+    }
+
+    @Test
+    void latencyTest() {
+        var counter = new AtomicInteger();
+        race(() -> {
+            Thread.sleep(20);
+            if (counter.incrementAndGet() % 2 == 0) {
+                throw new IllegalStateException("even");
+            }
+            return 1;
+        })
+                .withConfiguration(Configuration.builder().setNumThreads(2).build())
+                .repeat(5)
+                .withAggregateAssertion(executionResult -> {
+                    var success = executionResult.successLatency();
+                    var failure = executionResult.failureLatency();
+                    assertEquals(5L, success.count());
+                    assertEquals(5L, failure.count());
+                    long twentyMillis = Duration.ofMillis(20).toNanos();
+                    assertTrue(success.min() >= twentyMillis);
+                    assertTrue(success.min() <= success.p50());
+                    assertTrue(success.p50() <= success.p99());
+                    assertTrue(success.p999() <= success.max());
+                    assertTrue(failure.mean() >= twentyMillis);
+                })
+                .go();
+    }
+
+    @Test
+    void latencyPercentilesTest() {
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(10_000L, histogram.count());
+        assertEquals(1L, histogram.min());
+        assertEquals(10_000L, histogram.max());
+        assertEquals(5_000, histogram.p50(), 5_000 * 0.03);
+        assertEquals(9_000, histogram.p90(), 9_000 * 0.03);
+        assertEquals(9_900, histogram.p99(), 9_900 * 0.03);
+
+        var twoValues = new LatencyHistogram();
+        twoValues.record(Duration.ofMillis(20).toNanos());
+        twoValues.record(Duration.ofMillis(40).toNanos());
+        assertEquals(Duration.ofMillis(20).toNanos(), twoValues.p50(), Duration.ofMillis(20).toNanos() * 0.03);
+        assertEquals(Duration.ofMillis(40).toNanos(), twoValues.p99(), Duration.ofMillis(40).toNanos() * 0.03);
+    }
+
+    @Test
+    void statisticsTest() {
+        var counter = new AtomicInteger();
+        race(() -> {
+            int i = counter.incrementAndGet();
+            if (i % 4 == 0) {
+                throw new IllegalStateException("fourth");
+            }
+            return i % 2;
+        })
+                .withConfiguration(Configuration.builder().setNumThreads(2).build())
+                .repeat(200)
+                .withStatisticsAssertion(statistics -> {
+                    assertEquals(200L, statistics.rounds());
+                    assertEquals(300L, statistics.successes());
+                    assertEquals(100L, statistics.failures());
+                    assertEquals(100L, statistics.errorsByType().get(IllegalStateException.class));
+                    assertEquals(RaceStatistics.DEFAULT_FAILURE_SAMPLES, statistics.failureSamples().size());
+                    assertEquals(200L, statistics.outcomes().get(1));
+                    assertEquals(100L, statistics.outcomes().get(0));
+                    assertEquals(300L, statistics.successLatency().count());
+                })
+                .go();
+    }
+
+    @Test
+    void untilNoNewOutcomeTest() {
+        var suit = race(() -> 1)
+                .repeat(1_000)
+                .untilNoNewOutcomeFor(20)
+                .go();
+
+        assertTrue(suit.rounds() < 1_000);
+        assertEquals(StopReason.NO_NEW_OUTCOMES, suit.stopReason());
+    }
+
+    @Test
+    void racerIndexTest() {
+        race(index -> () -> 100 + index)
+                .withConfiguration(Configuration.builder().setNumThreads(3).build())
+                .withAssertion(executionResult ->
+                        assertEquals(Set.of(100, 101, 102), Set.copyOf(executionResult.results())))
+                .go();
+    }
+
+    @Test
+    void raceContextTest() {
+        race(() -> {
+            RaceContext context = RaceContext.current();
+            assertEquals(context.index(), (int) context.<Integer>key());
+            assertTrue(context.releasedNanos() != 0);
+            return context.iteration();
+        })
+                .withConfiguration(Configuration.builder().setNumThreads(2).build())
+                .repeat(3)
+                .withAggregateAssertion(executionResult -> {
+                    assertEquals(List.of(0, 0, 1, 1, 2, 2),
+                            executionResult.results().stream().sorted().collect(Collectors.toList()));
+                    assertTrue(executionResult.errors().isEmpty());
+                })
+                .go();
+        assertEquals(null, RaceContext.current());
+    }
+
+    @Test
+    void warmUpTest() {
+        var calls = new AtomicInteger();
+        var suit = race(() -> {
+            calls.incrementAndGet();
+            return RaceContext.current().isWarmup();
+        })
+                .withConfiguration(Configuration.builder().setNumThreads(2).build())
+                .warmUp(5)
+                .repeat(2)
+                .withAssertion(executionResult -> assertEquals(5, executionResult.warmupRounds()))
+                .withAggregateAssertion(executionResult -> {
+                    assertEquals(4, executionResult.results().size());
+                    assertFalse(executionResult.results().contains(true));
+                    assertEquals(5, executionResult.warmupRounds());
+                    assertTrue(executionResult.warmupNanos() > 0);
+                })
+                .go();
+
+        assertEquals(14, calls.get());
+        assertEquals(5, suit.warmupRounds());
+        assertTrue(suit.warmupNanos() > 0);
+    }
+
+    @Test
+    void sweepTest() {
+        var concurrency = new ConcurrentHashMap<Integer, Integer>();
+        var suit = race(() -> concurrency.merge(RaceContext.current().index(), 1, Integer::sum))
+                .sweep(ConcurrencySweep.of(1, 2, 4))
+                .repeat(5)
+                .withSweepAssertion(sweep -> {
+                    assertEquals(3, sweep.levels().size());
+                    for (SweepLevel level : sweep.levels()) {
+                        assertEquals(5, level.rounds());
+                        assertEquals(5L * level.concurrency(), level.successes());
+                        assertEquals(0, level.failures());
+                        assertTrue(level.throughput() > 0);
+                    }
+                    assertEquals(4, sweep.toString().lines().count());
+                })
+                .go();
+
+        assertEquals(15, suit.rounds());
+        assertEquals(15, concurrency.get(0));
+        assertEquals(5, concurrency.get(3));
+    }
+
+    @Test
+    void sweepKneeTest() {
+        var linear = new ArrayList<SweepLevel>();
+        var flatAfterFour = new ArrayList<SweepLevel>();
+        for (int concurrency = 1; concurrency <= 16; concurrency++) {
+            linear.add(sweepLevel(concurrency, concurrency));
+        }
+        for (int concurrency = 1; concurrency <= 16; concurrency *= 2) {
+            flatAfterFour.add(sweepLevel(concurrency, Math.min(concurrency, 4)));
+        }
+
+        assertNull(new SweepResult(linear).knee());
+        assertEquals(4, new SweepResult(flatAfterFour).knee().concurrency());
+        assertTrue(new SweepResult(flatAfterFour).toString().contains("<- knee"));
+    }
+
+    private static SweepLevel sweepLevel(int concurrency, long tasksPerSecond) {
+        return new SweepLevel(concurrency, 1, tasksPerSecond, 0, 1_000_000_000L, new LatencyHistogram());
+    }
+
+    @Test
+    void threadUsageTest() {
+        var threads = ManagementFactory.getThreadMXBean();
+        boolean isContentionMonitoringEnabled = threads.isThreadContentionMonitoringEnabled();
+        var monitor = new Object();
+        var usages = new ConcurrentHashMap<Integer, ThreadUsage>();
+        race(() -> {
+            byte[] allocated = new byte[1 << 20];
+            synchronized (monitor) {
+                Thread.sleep(20);
+            }
+            return allocated.length;
+        })
+                .withConfiguration(Configuration.builder().setNumThreads(2).setThreadUsageEnabled(true).build())
+                .withIncrementalAssertion(executionResult -> {
+                    assertNotNull(executionResult.threadUsage());
+                    usages.put(usages.size(), executionResult.threadUsage());
+                })
+                .withAssertion(executionResult -> {
+                    ThreadUsage total = executionResult.threadUsage();
+                    assertNotNull(total);
+                    assertEquals(usages.get(0).plus(usages.get(1)).waitedCount(), total.waitedCount());
+                    assertTrue(total.blockedCount() >= 1);
+                    assertTrue(total.waitedCount() >= 2);
+                    if (total.allocatedBytes() != ThreadUsage.UNSUPPORTED) {
+                        assertTrue(total.allocatedBytes() >= 2 << 20);
+                    }
+                    if (total.cpuNanos() != ThreadUsage.UNSUPPORTED) {
+                        assertTrue(total.cpuNanos() < Duration.ofMillis(40).toNanos() * 10);
+                    }
+                })
+                .go();
+        assertEquals(isContentionMonitoringEnabled, threads.isThreadContentionMonitoringEnabled());
+
+        race(() -> 1)
+                .withIncrementalAssertion(executionResult -> assertNull(executionResult.threadUsage()))
+                .withAssertion(executionResult -> assertNull(executionResult.threadUsage()))
+                .go();
+    }
 }
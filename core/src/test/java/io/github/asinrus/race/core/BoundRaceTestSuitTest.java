@@ -1,13 +1,34 @@
 package io.github.asinrus.race.core;
 
+import io.github.asinrus.race.core.domain.result.ComplexExecutionResult;
+import io.github.asinrus.race.core.domain.result.OutcomeSignature;
+import io.github.asinrus.race.core.domain.result.TaskExecutionResult;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static io.github.asinrus.race.core.RaceTestSuitRegistry.race;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BoundRaceTestSuitTest {
@@ -58,4 +79,570 @@ class BoundRaceTestSuitTest {
                 .go();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testRacersWaitForEachOtherAtTheGate() {
+        Map<String, Long> arrivedNanos = new ConcurrentHashMap<>();
+        Callable<Integer> task = () -> 1;
+
+        race(Map.of("task1", task, "task2", task, "late", task))
+                .withSetup(context -> {
+                    if ("late".equals(context.key())) {
+                        Thread.sleep(50);
+                    }
+                    arrivedNanos.put(context.key(), System.nanoTime());
+                })
+                .withAssertion(res -> {
+                    long lastArrivalNanos = arrivedNanos.values().stream().mapToLong(Long::longValue).max()
+                            .orElseThrow();
+                    for (String key : List.of("task1", "task2", "late")) {
+                        assertTrue(res.get(key).releasedNanos() >= lastArrivalNanos);
+                    }
+                    assertTrue(res.startSkewNanos() >= 0);
+                })
+                .go();
+    }
+
+    @Test
+    void testSpinThenParkGateReleasesAllRacers() {
+        Map<String, Callable<Integer>> tasks = Map.of("task1", () -> 1,
+                "task2", () -> 2);
+
+        race(tasks)
+                .withGateMode(GateMode.SPIN_THEN_PARK)
+                .withAssertion(res -> {
+                    assertFalse(res.get("task1").isHasError());
+                    assertFalse(res.get("task2").isHasError());
+                    assertTrue(res.startSkewNanos() >= 0);
+                })
+                .go();
+    }
+
+    @Test
+    void testTaskTimingsAreRecorded() {
+        Map<String, Callable<Integer>> tasks = Map.of(
+                "fast", () -> 1,
+                "slow", () -> {
+                    Thread.sleep(20);
+                    return 2;
+                });
+
+        race(tasks)
+                .withAssertion(res -> {
+                    for (var taskResult : res.resultMap().values()) {
+                        assertTrue(taskResult.queuedNanos() != 0);
+                        assertTrue(taskResult.releasedNanos() - taskResult.queuedNanos() >= 0);
+                        assertTrue(taskResult.startedNanos() - taskResult.releasedNanos() >= 0);
+                        assertTrue(taskResult.finishedNanos() - taskResult.startedNanos() >= 0);
+                    }
+                    assertTrue(res.get("slow").executionNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+                })
+                .go();
+    }
+
+    @Test
+    void testRepeatReusesRacerThreads() {
+        Set<Thread> racerThreads = ConcurrentHashMap.newKeySet();
+        AtomicInteger checkedRounds = new AtomicInteger();
+        Callable<Integer> task = () -> {
+            racerThreads.add(Thread.currentThread());
+            return 1;
+        };
+
+        race(Map.of("task1", task, "task2", task))
+                .repeat(20)
+                .withAssertion(res -> checkedRounds.incrementAndGet())
+                .withAggregateAssertion(rounds -> {
+                    assertEquals(20, rounds.size());
+                    rounds.forEach(round -> assertEquals(2, round.resultMap().size()));
+                })
+                .go();
+
+        assertEquals(20, checkedRounds.get());
+        assertEquals(2, racerThreads.size());
+    }
+
+    @Test
+    void testForDurationRunsRoundsUntilTimeIsOver() {
+        race(Map.of("task1", () -> 1, "task2", () -> 2))
+                .forDuration(Duration.ofMillis(100))
+                .withAggregateAssertion(rounds -> assertTrue(rounds.size() > 1))
+                .go();
+    }
+
+    @Test
+    void testEngineIsReported() {
+        race(Map.of("task1", () -> 1))
+                .withAssertion(res -> assertEquals(ExecutionEngine.PLATFORM_THREADS.name(), res.engine()))
+                .go();
+    }
+
+    @Test
+    void testVirtualThreadsEngine() {
+        var suitBuilder = race(Map.<String, Callable<Boolean>>of(
+                "task1", () -> Thread.currentThread().isDaemon(),
+                "task2", () -> Thread.currentThread().isDaemon()))
+                .withExecutionEngine(ExecutionEngine.VIRTUAL_THREADS)
+                .withAssertion(res -> {
+                    assertEquals(ExecutionEngine.VIRTUAL_THREADS.name(), res.engine());
+                    // virtual threads are always daemon threads
+                    assertTrue(res.get("task1").result());
+                    assertTrue(res.get("task2").result());
+                });
+
+        if (VirtualThreads.isSupported()) {
+            suitBuilder.go();
+        } else {
+            assertThrows(UnsupportedOperationException.class, suitBuilder::go);
+        }
+    }
+
+    @Test
+    void testForkJoinEngine() {
+        race(Map.<String, Callable<Boolean>>of(
+                "task1", () -> Thread.currentThread() instanceof ForkJoinWorkerThread,
+                "task2", () -> Thread.currentThread() instanceof ForkJoinWorkerThread))
+                .withExecutionEngine(ExecutionEngine.FORK_JOIN)
+                .withAssertion(res -> {
+                    assertEquals(ExecutionEngine.FORK_JOIN.name(), res.engine());
+                    assertTrue(res.get("task1").result());
+                    assertTrue(res.get("task2").result());
+                })
+                .go();
+    }
+
+    @Test
+    void testCallerSuppliedExecutorIsNotShutDown() {
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> new Thread(runnable, "racer"));
+        try {
+            race(Map.<String, Callable<String>>of(
+                    "task1", () -> Thread.currentThread().getName(),
+                    "task2", () -> Thread.currentThread().getName()))
+                    .withExecutionEngine(RaceEngine.executor("named-pool", executor))
+                    .withAssertion(res -> {
+                        assertEquals("named-pool", res.engine());
+                        assertEquals("racer", res.get("task1").result());
+                        assertEquals("racer", res.get("task2").result());
+                    })
+                    .go();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallerSuppliedExecutorSmallerThanRacersIsRejected() {
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> race(Map.<String, Callable<Integer>>of(
+                    "task1", () -> 1,
+                    "task2", () -> 2))
+                    .withExecutionEngine(RaceEngine.executor("small-pool", executor))
+                    .go());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallerSuppliedExecutorWithUnboundedQueueIsCheckedByCorePoolSize() {
+        ThreadPoolExecutor queueing = new ThreadPoolExecutor(1, 8, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
+        ThreadPoolExecutor handingOff = new ThreadPoolExecutor(1, 8, 1, TimeUnit.MINUTES, new SynchronousQueue<>());
+        Map<String, Callable<Integer>> tasks = Map.of(
+                "task1", () -> 1,
+                "task2", () -> 2,
+                "task3", () -> 3,
+                "task4", () -> 4);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> race(tasks)
+                    .withExecutionEngine(RaceEngine.executor("queueing-pool", queueing))
+                    .go());
+            race(tasks)
+                    .withExecutionEngine(RaceEngine.executor("hand-off-pool", handingOff))
+                    .withAssertion(res -> assertEquals(4, res.resultMap().size()))
+                    .go();
+        } finally {
+            queueing.shutdownNow();
+            handingOff.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancelOnFirstErrorCancelsRemainingRacers() {
+        Map<String, Callable<Integer>> tasks = Map.of(
+                "failing", () -> {
+                    throw new IllegalStateException("Deadlock detected");
+                },
+                "hanging", () -> {
+                    Thread.sleep(10_000);
+                    return 1;
+                });
+
+        long startNanos = System.nanoTime();
+        List<String> completed = new ArrayList<>();
+        race(tasks)
+                .withCancellationPolicy(CancellationPolicy.CANCEL_ON_FIRST_ERROR)
+                .onComplete((key, result) -> completed.add(key))
+                .withStatisticsAssertion(statistics -> {
+                    assertEquals(1, statistics.failures());
+                    assertEquals(1, statistics.cancelled());
+                })
+                .withAssertion(res -> {
+                    assertTrue(res.get("failing").isHasError());
+                    assertFalse(res.get("failing").isCancelled());
+                    assertTrue(res.get("hanging").isCancelled());
+                    assertFalse(res.get("hanging").isHasError());
+                    assertTrue(res.unresponsiveThreads().isEmpty());
+                })
+                .go();
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(List.of("failing"), completed);
+    }
+
+    @Test
+    void testCancelOnDeadlineReportsRacersIgnoringInterrupt() {
+        Map<String, Callable<Integer>> tasks = Map.of(
+                "finished", () -> 1,
+                "stubborn", () -> {
+                    long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                    return 2;
+                });
+
+        race(tasks)
+                .withTimeout(Duration.ofMillis(200))
+                .withCancellationPolicy(CancellationPolicy.CANCEL_ON_DEADLINE)
+                .withAssertion(res -> {
+                    assertEquals(1, res.get("finished").result());
+                    assertTrue(res.get("stubborn").isCancelled());
+                    assertEquals(Set.of("stubborn"), res.unresponsiveThreads().keySet());
+                })
+                .go();
+    }
+
+    @Test
+    void testResultsAreStreamedInCompletionOrder() {
+        List<String> streamed = new ArrayList<>();
+        Map<String, Callable<Integer>> tasks = Map.of(
+                "fast", () -> 1,
+                "slow", () -> {
+                    Thread.sleep(100);
+                    return 2;
+                });
+
+        race(tasks)
+                .onComplete((key, result) -> streamed.add(key))
+                .withAssertion(res -> {
+                    assertEquals(List.of("fast", "slow"), res.completionOrder());
+                    assertEquals(res.completionOrder(), streamed);
+                })
+                .go();
+    }
+
+    @Test
+    void testFailedIncrementalAssertionAbortsRace() {
+        Map<String, Callable<Integer>> tasks = Map.of(
+                "broken", () -> -1,
+                "hanging", () -> {
+                    Thread.sleep(10_000);
+                    return 1;
+                });
+
+        long startNanos = System.nanoTime();
+        AssertionError error = assertThrows(AssertionError.class, () -> race(tasks)
+                .withIncrementalAssertion((key, result) -> {
+                    if (result.result() < 0) {
+                        throw new AssertionError("Negative balance of " + key);
+                    }
+                })
+                .go());
+
+        assertEquals("Negative balance of broken", error.getMessage());
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void testOutcomeDistribution() {
+        race(Map.<String, Callable<Integer>>of(
+                "Mike", () -> 1,
+                "Derek", () -> {
+                    throw new IllegalStateException("version conflict");
+                }))
+                .repeat(50)
+                .withOutcomeClassifier(res -> !res.get("Mike").isHasError() && !res.get("Derek").isHasError()
+                        ? "lost update"
+                        : "conflict detected")
+                .withDistributionAssertion(distribution -> {
+                    assertEquals(50L, distribution.rounds());
+                    assertEquals(50L, distribution.count(s -> s.succeeded("Mike") && s.failed("Derek")));
+                    assertEquals(0L, distribution.count(s -> "lost update".equals(s.label())));
+                    assertEquals(50L, distribution.winners().values().stream().mapToLong(Long::longValue).sum());
+                    assertEquals(1L, distribution.frequencies().keySet().stream()
+                            .map(OutcomeSignature::withoutCompletionOrder)
+                            .distinct()
+                            .count());
+                })
+                .go();
+    }
+
+    @Test
+    void testUntilPredicate() {
+        var counter = new AtomicInteger();
+        var suit = race(Map.<String, Callable<Integer>>of("task1", counter::incrementAndGet))
+                .repeat(1_000)
+                .until(res -> res.get("task1").result() == 7)
+                .go();
+
+        assertEquals(7, suit.rounds());
+        assertEquals(StopReason.PREDICATE, suit.stopReason());
+    }
+
+    @Test
+    void testUntilNoNewOutcome() {
+        var suit = race(Map.<String, Callable<Integer>>of("task1", () -> 1, "task2", () -> 2))
+                .repeat(1_000)
+                .withOutcomeClassifier(res -> "same")
+                .untilNoNewOutcomeFor(20)
+                .go();
+
+        assertTrue(suit.rounds() < 1_000);
+        assertEquals(StopReason.NO_NEW_OUTCOMES, suit.stopReason());
+    }
+
+    @Test
+    void testSystematicDelaysRotateTheWinner() {
+        race(Map.<String, Callable<Integer>>of("Mike", () -> 1, "Derek", () -> 2))
+                .repeat(4)
+                .withDelaySchedule(DelaySchedule.systematic(Duration.ofMillis(50)))
+                .withAssertion(res -> {
+                    var winner = res.completionOrder().get(0);
+                    assertEquals(0L, res.get(winner).delayNanos());
+                    assertTrue(res.get(winner).startedNanos() - res.get(winner).releasedNanos()
+                            < Duration.ofMillis(50).toNanos());
+                })
+                .withDistributionAssertion(distribution -> {
+                    assertEquals(2L, distribution.winners().get("Mike"));
+                    assertEquals(2L, distribution.winners().get("Derek"));
+                })
+                .go();
+    }
+
+    @Test
+    void testRandomDelaysReplay() {
+        var schedule = DelaySchedule.random(42, Duration.ofMillis(5));
+        Map<String, Callable<Integer>> tasks = Map.of("Mike", () -> 1, "Derek", () -> 2);
+        List<ComplexExecutionResult<String, Integer>> rounds = new ArrayList<>();
+        race(tasks)
+                .repeat(3)
+                .withDelaySchedule(schedule)
+                .withAssertion(rounds::add)
+                .go();
+        var failedRound = rounds.get(2);
+
+        race(tasks)
+                .withDelaySchedule(schedule.replay(failedRound.scheduleSeed()))
+                .withAssertion(res -> {
+                    assertEquals(failedRound.scheduleSeed(), res.scheduleSeed());
+                    assertEquals(failedRound.get("Mike").delayNanos(), res.get("Mike").delayNanos());
+                    assertEquals(failedRound.get("Derek").delayNanos(), res.get("Derek").delayNanos());
+                    assertTrue(res.get("Mike").startedNanos() - res.get("Mike").releasedNanos()
+                            >= res.get("Mike").delayNanos());
+                })
+                .go();
+    }
+
+    @Test
+    void testDelaysDoNotDependOnMapOrder() {
+        Map<String, Callable<Integer>> forward = new LinkedHashMap<>();
+        forward.put("Alice", () -> 1);
+        forward.put("Bob", () -> 2);
+        forward.put("Carol", () -> 3);
+        Map<String, Callable<Integer>> backward = new LinkedHashMap<>();
+        backward.put("Carol", () -> 3);
+        backward.put("Bob", () -> 2);
+        backward.put("Alice", () -> 1);
+        var schedule = DelaySchedule.random(7, Duration.ofMillis(5)).replay(42);
+        List<ComplexExecutionResult<String, Integer>> rounds = new ArrayList<>();
+
+        race(forward).withDelaySchedule(schedule).withAssertion(rounds::add).go();
+        race(backward).withDelaySchedule(schedule).withAssertion(rounds::add).go();
+
+        for (String key : List.of("Alice", "Bob", "Carol")) {
+            assertEquals(rounds.get(0).get(key).delayNanos(), rounds.get(1).get(key).delayNanos());
+        }
+        race(backward)
+                .withDelaySchedule(DelaySchedule.systematic(Duration.ofMillis(1)))
+                .withAssertion(res -> {
+                    assertEquals(0, res.get("Alice").delayNanos());
+                    assertEquals(Duration.ofMillis(1).toNanos(), res.get("Bob").delayNanos());
+                    assertEquals(Duration.ofMillis(2).toNanos(), res.get("Carol").delayNanos());
+                })
+                .go();
+    }
+
+    @Test
+    void testCheckpointForcesLostUpdate() {
+        var balance = new AtomicInteger();
+        race(Map.<String, Callable<Integer>>of(
+                "Mike", () -> {
+                    int read = balance.get();
+                    RaceContext.checkpoint("afterRead");
+                    balance.set(read + 1);
+                    return read;
+                },
+                "Derek", () -> {
+                    int read = balance.get();
+                    RaceContext.checkpoint("afterRead");
+                    balance.set(read + 1);
+                    return read;
+                }))
+                .withAssertion(res -> {
+                    assertEquals(0, res.get("Mike").result());
+                    assertEquals(0, res.get("Derek").result());
+                })
+                .go();
+
+        assertEquals(1, balance.get());
+    }
+
+    @Test
+    void testCheckpointDoesNotWaitForFinishedOrSkippingRacers() {
+        race(Map.<String, Callable<Boolean>>of(
+                "finished", () -> true,
+                "skipping", () -> {
+                    RaceContext.skip("afterRead");
+                    return true;
+                },
+                "waiting", () -> RaceContext.checkpoint("afterRead")))
+                .withTimeout(Duration.ofSeconds(5))
+                .withAssertion(res -> assertTrue(res.get("waiting").result()))
+                .go();
+    }
+
+    @Test
+    void testCheckpointTimeoutAndNoRace() {
+        assertFalse(RaceContext.checkpoint("outsideOfRace"));
+
+        race(Map.<String, Callable<Boolean>>of(
+                "impatient", () -> RaceContext.checkpoint("never", Duration.ofMillis(50)),
+                "slow", () -> {
+                    Thread.sleep(500);
+                    return true;
+                }))
+                .withAssertion(res -> assertFalse(res.get("impatient").result()))
+                .go();
+    }
+
+    @Test
+    void testCheckpointWaitsNotLongerThanRound() {
+        AtomicLong waitedNanos = new AtomicLong();
+        race(Map.<String, Callable<Boolean>>of(
+                "waiting", () -> {
+                    long arrivedNanos = System.nanoTime();
+                    boolean isPassed = RaceContext.checkpoint("never");
+                    waitedNanos.set(System.nanoTime() - arrivedNanos);
+                    return isPassed;
+                },
+                "slow", () -> {
+                    Thread.sleep(2000);
+                    return true;
+                }))
+                .withTimeout(Duration.ofMillis(500))
+                .withCancellationPolicy(CancellationPolicy.CANCEL_ON_DEADLINE)
+                .withSetup(context -> Thread.sleep(300))
+                .go();
+
+        assertTrue(waitedNanos.get() > 0);
+        assertTrue(waitedNanos.get() < Duration.ofMillis(400).toNanos());
+    }
+
+    @Test
+    void testSetupAndTeardownOutsideMeasuredWindow() {
+        Set<String> closed = ConcurrentHashMap.newKeySet();
+        race(Map.<String, Callable<String>>of(
+                "Mike", () -> RaceContext.current().<String>attachment(),
+                "Derek", () -> RaceContext.current().<String>attachment()))
+                .withSetup(context -> {
+                    Thread.sleep(100);
+                    context.attach("connection-" + context.<String>key());
+                })
+                .withTeardown(context -> closed.add(context.attachment()))
+                .withAssertion(res -> {
+                    assertEquals("connection-Mike", res.get("Mike").result());
+                    assertTrue(res.get("Mike").setupNanos() >= Duration.ofMillis(100).toNanos());
+                    assertTrue(res.get("Mike").executionNanos() < Duration.ofMillis(100).toNanos());
+                    assertTrue(res.get("Derek").teardownNanos() > 0);
+                })
+                .go();
+
+        assertEquals(Set.of("connection-Mike", "connection-Derek"), closed);
+    }
+
+    @Test
+    void testTeardownDoesNotChangeOutcome() {
+        race(Map.<String, Callable<Integer>>of("Mike", () -> 1, "Derek", () -> {
+            Thread.sleep(50);
+            return 2;
+        }))
+                .withTeardown(context -> {
+                    if ("Mike".equals(context.key())) {
+                        Thread.sleep(200);
+                        throw new IllegalStateException("not closed");
+                    }
+                })
+                .withAssertion(res -> {
+                    assertFalse(res.get("Mike").isHasError());
+                    assertEquals(1, res.get("Mike").result());
+                    assertTrue(res.get("Mike").teardownError() instanceof IllegalStateException);
+                    assertTrue(res.get("Mike").teardownNanos() >= Duration.ofMillis(200).toNanos());
+                    assertNull(res.get("Derek").teardownError());
+                    assertEquals(List.of("Mike", "Derek"), res.completionOrder());
+                })
+                .go();
+    }
+
+    @Test
+    void testFailedSetupDoesNotHoldBackOtherRacers() {
+        race(Map.<String, Callable<Integer>>of("Mike", () -> 1, "Derek", () -> 2))
+                .withTimeout(Duration.ofSeconds(5))
+                .withSetup(context -> {
+                    if ("Derek".equals(context.key())) {
+                        throw new IllegalStateException("no connection");
+                    }
+                })
+                .withAssertion(res -> {
+                    assertFalse(res.get("Mike").isHasError());
+                    assertTrue(res.get("Derek").isHasError());
+                    assertTrue(res.get("Derek").error() instanceof IllegalStateException);
+                })
+                .go();
+    }
+
+    @Test
+    void testResultMapOfLargeFanOut() {
+        Map<Integer, Callable<Integer>> tasks = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            int value = i;
+            tasks.put(i, () -> {
+                if (value % 50 == 0) {
+                    throw new IllegalStateException("failed " + value);
+                }
+                return value;
+            });
+        }
+
+        race(tasks)
+                .withAssertion(res -> {
+                    assertEquals(200, res.resultMap().size());
+                    assertEquals(200, res.completionOrder().size());
+                    assertEquals(199, res.get(199).result());
+                    assertTrue(res.resultMap().containsKey(0));
+                    assertFalse(res.resultMap().containsKey(200));
+                    assertEquals("failed 50", res.get(50).error().getMessage());
+                    assertEquals(4L, res.resultMap().values().stream().filter(TaskExecutionResult::isHasError).count());
+                })
+                .go();
+    }
+}
@@ -3,9 +3,11 @@ package io.github.asinrus.race.core;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.asinrus.race.core.RaceTestSuitRegistry.raceByFutures;
 import static java.lang.Thread.sleep;
@@ -45,6 +47,22 @@ class FutureTestSuitRaceTest {
         BoundRaceExecutorImpl.ExecutionException executionException = assertThrows(BoundRaceExecutorImpl.ExecutionException.class,
                 () -> raceByFutures(futuresMap).withTimeout(Duration.ofSeconds(1)).go());
         assertEquals("Time out running out, but not all tasks was finished", executionException.getMessage());
+        assertEquals(RacePhase.EXECUTION, executionException.phase());
+    }
+
+    @Test
+    void testSubSecondTimeoutFailed() {
+        Map<String, Future<String>> futuresMap = Map.of("op1", new CompletableFuture<>());
+
+        long startNanos = System.nanoTime();
+        BoundRaceExecutorImpl.ExecutionException executionException = assertThrows(
+                BoundRaceExecutorImpl.ExecutionException.class,
+                () -> raceByFutures(futuresMap).withTimeout(Duration.ofMillis(200)).go());
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        assertEquals(RacePhase.EXECUTION, executionException.phase());
+        assertTrue(elapsedMillis >= 200, "waited only " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 1_000, "waited " + elapsedMillis + " ms");
     }
 
     @Test
@@ -71,4 +89,20 @@ class FutureTestSuitRaceTest {
                 .go();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCompletionOrderOfCompletableFutures() {
+        Map<String, Future<String>> futuresMap = Map.of(
+                "slow", CompletableFuture.supplyAsync(() -> "slow",
+                        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)),
+                "fast", CompletableFuture.supplyAsync(() -> "fast",
+                        CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS)));
+
+        raceByFutures(futuresMap)
+                .withAssertion(res -> {
+                    assertEquals(List.of("fast", "slow"), res.completionOrder());
+                    assertTrue(res.get("slow").finishedNanos() - res.get("fast").finishedNanos() > 0);
+                })
+                .go();
+    }
+}
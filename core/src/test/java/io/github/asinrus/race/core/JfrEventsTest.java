@@ -0,0 +1,115 @@
+package io.github.asinrus.race.core;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.github.asinrus.race.core.RaceTestSuitRegistry.race;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrEventsTest {
+
+    @Test
+    void testRaceLifecycleEvents() throws IOException {
+        List<RecordedEvent> events = record(() -> race(Map.<String, Callable<Integer>>of(
+                "first", () -> 1,
+                "second", () -> {
+                    throw new IllegalStateException("failed");
+                }))
+                .withConfiguration(Configuration.builder().setIterations(2).build())
+                .go());
+
+        assertEquals(2, named(events, "RaceStart").size());
+        List<RecordedEvent> gateReleases = named(events, "GateRelease");
+        assertEquals(2, gateReleases.size());
+        assertEquals(2, gateReleases.get(0).getInt("racers"));
+        List<RecordedEvent> executions = named(events, "RacerExecution");
+        assertEquals(4, executions.size());
+        assertEquals(Set.of("first:SUCCESS", "second:FAILURE"), executions.stream()
+                .map(event -> event.getString("key") + ":" + event.getString("outcome"))
+                .collect(Collectors.toSet()));
+        assertTrue(executions.stream().allMatch(event -> event.getThread().getJavaName().startsWith("pool-")));
+    }
+
+    @Test
+    void testTimeoutAndCancellationEvents() throws IOException {
+        List<RecordedEvent> events = record(() -> race(Map.<String, Callable<Integer>>of(
+                "finished", () -> 1,
+                "stubborn", () -> {
+                    long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                    return 2;
+                }))
+                .withTimeout(Duration.ofMillis(200))
+                .withCancellationPolicy(CancellationPolicy.CANCEL_ON_DEADLINE)
+                .go());
+
+        List<RecordedEvent> timeouts = named(events, "RaceTimeout");
+        assertEquals(1, timeouts.size());
+        assertEquals(RacePhase.EXECUTION.name(), timeouts.get(0).getString("phase"));
+        assertEquals(1, timeouts.get(0).getInt("unfinished"));
+        List<RecordedEvent> cancellations = named(events, "RacerCancellation");
+        assertEquals(1, cancellations.size());
+        assertEquals("stubborn", cancellations.get(0).getString("key"));
+        assertTrue(cancellations.get(0).getBoolean("ignoredInterrupt"));
+    }
+
+    @Test
+    void testGateTimeoutReportsMissingRacers() throws IOException {
+        List<RecordedEvent> events = record(() -> assertThrows(Barrier.BarrierException.class,
+                () -> race(Map.<String, Callable<Integer>>of("first", () -> 1, "second", () -> 2, "late", () -> 3))
+                        .withTimeout(Duration.ofMillis(100))
+                        .withSetup(context -> {
+                            if ("late".equals(context.key())) {
+                                Thread.sleep(500);
+                            }
+                        })
+                        .go()));
+
+        List<RecordedEvent> timeouts = named(events, "RaceTimeout");
+        assertEquals(1, timeouts.size());
+        assertEquals(RacePhase.GATE.name(), timeouts.get(0).getString("phase"));
+        assertEquals(1, timeouts.get(0).getInt("unfinished"));
+        assertTrue(named(events, "GateRelease").isEmpty());
+    }
+
+    private static List<RecordedEvent> record(Runnable race) throws IOException {
+        Path file = Files.createTempFile("race", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.asinrus.race.RaceStart");
+            recording.enable("io.github.asinrus.race.GateRelease");
+            recording.enable("io.github.asinrus.race.RacerExecution");
+            recording.enable("io.github.asinrus.race.RaceTimeout");
+            recording.enable("io.github.asinrus.race.RacerCancellation");
+            recording.start();
+            race.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.asinrus.race." + name))
+                .collect(Collectors.toList());
+    }
+}
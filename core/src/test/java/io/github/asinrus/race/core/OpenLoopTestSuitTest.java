@@ -0,0 +1,89 @@
+package io.github.asinrus.race.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static io.github.asinrus.race.core.RaceTestSuitRegistry.arrivals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenLoopTestSuitTest {
+
+    @Test
+    void testFixedRate() {
+        arrivals(() -> 1)
+                .atFixedRate(200)
+                .forDuration(Duration.ofMillis(500))
+                .withAssertion(result -> {
+                    assertEquals(100L, result.arrivals());
+                    assertEquals(0L, result.unfinished());
+                    assertEquals(100L, result.statistics().successes());
+                    assertEquals(100L, result.responseLatency().count());
+                })
+                .go();
+    }
+
+    @Test
+    void testResponseLatencyIncludesQueueing() {
+        arrivals(() -> {
+            Thread.sleep(20);
+            return 1;
+        })
+                .withConfiguration(Configuration.builder().setNumThreads(1).build())
+                .withPoissonArrivals(200, 42)
+                .forDuration(Duration.ofMillis(300))
+                .withAssertion(result -> {
+                    assertTrue(result.arrivals() > 10);
+                    assertEquals(0L, result.unfinished());
+                    assertTrue(result.responseLatency().max() > 5 * result.statistics().successLatency().max());
+                })
+                .go();
+    }
+
+    @Test
+    void testResultDoesNotChangeAfterTimeout() {
+        arrivals(() -> {
+            Thread.sleep(30);
+            return 1;
+        })
+                .withConfiguration(Configuration.builder()
+                        .setNumThreads(1)
+                        .setTimeout(Duration.ofMillis(50))
+                        .build())
+                .atFixedRate(100)
+                .forDuration(Duration.ofMillis(200))
+                .withAssertion(result -> {
+                    assertTrue(result.unfinished() > 0);
+                    long successes = result.statistics().successes();
+                    long responses = result.responseLatency().count();
+                    sleep(200);
+                    assertEquals(successes, result.statistics().successes());
+                    assertEquals(responses, result.responseLatency().count());
+                })
+                .go();
+    }
+
+    @Test
+    void testErrorsAreRecorded() {
+        arrivals(() -> {
+            throw new AssertionError("broken");
+        })
+                .atFixedRate(100)
+                .forDuration(Duration.ofMillis(100))
+                .withAssertion(result -> {
+                    assertEquals(10L, result.statistics().failures());
+                    assertEquals(10L, result.statistics().errorsByType().get(AssertionError.class));
+                    assertEquals(10L, result.responseLatency().count());
+                })
+                .go();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
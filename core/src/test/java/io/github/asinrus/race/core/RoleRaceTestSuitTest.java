@@ -0,0 +1,84 @@
+package io.github.asinrus.race.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.asinrus.race.core.RaceTestSuitRegistry.role;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoleRaceTestSuitTest {
+
+    @Test
+    void testAggregatesPerRole() {
+        var balance = new AtomicInteger();
+        var suit = role("reader", 50, balance::get)
+                .role("writer", 5, () -> {
+                    if (RaceContext.current().<RoleKey>key().index() == 0) {
+                        throw new IllegalStateException("conflict");
+                    }
+                    return balance.incrementAndGet();
+                })
+                .repeat(3)
+                .withRacerAssertion(res -> assertEquals(55, res.resultMap().size()))
+                .withAssertion(res -> {
+                    assertEquals(2, res.roles().size());
+                    assertEquals(150L, res.role("reader").successes());
+                    assertEquals(3L, res.role("reader").rounds());
+                    assertEquals(12L, res.role("writer").successes());
+                    assertEquals(3L, res.role("writer").errorsByType().get(IllegalStateException.class));
+                })
+                .go();
+
+        assertEquals(3, suit.rounds());
+        assertEquals(12, balance.get());
+    }
+
+    @Test
+    void testAggregatesPerRoleWithoutRacerAssertion() {
+        var balance = new AtomicInteger();
+        var suit = role("reader", 50, balance::get)
+                .role("writer", 5, () -> {
+                    RoleKey key = RaceContext.current().key();
+                    assertEquals("writer", key.role());
+                    if (key.index() == 0) {
+                        throw new IllegalStateException("conflict");
+                    }
+                    return balance.incrementAndGet();
+                })
+                .repeat(3)
+                .withAssertion(res -> {
+                    assertEquals(150L, res.role("reader").successes());
+                    assertEquals(3L, res.role("reader").rounds());
+                    assertEquals(12L, res.role("writer").successes());
+                    assertEquals(3L, res.role("writer").errorsByType().get(IllegalStateException.class));
+                })
+                .go();
+
+        assertEquals(3, suit.rounds());
+        assertEquals(12, balance.get());
+    }
+
+    @Test
+    void testWarmupAndStopAreTheSameWithAndWithoutRacerAssertion() {
+        for (boolean isRacerAssertion : new boolean[]{true, false}) {
+            var builder = role("reader", 4, () -> 0)
+                    .role("writer", 1, () -> 1)
+                    .withConfiguration(Configuration.builder().setWarmupIterations(2).build())
+                    .repeat(100)
+                    .until(res -> res.role("writer").successes() >= 3);
+            if (isRacerAssertion) {
+                builder.withRacerAssertion(res -> assertEquals(5, res.resultMap().size()));
+            }
+            var suit = builder
+                    .withAssertion(res -> assertEquals(3L, res.role("writer").rounds()))
+                    .go();
+
+            assertEquals(3, suit.rounds());
+            assertEquals(StopReason.PREDICATE, suit.stopReason());
+            assertEquals(2, suit.warmupRounds());
+            assertTrue(suit.warmupNanos() > 0);
+        }
+    }
+}
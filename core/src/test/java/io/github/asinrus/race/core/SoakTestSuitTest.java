@@ -0,0 +1,84 @@
+package io.github.asinrus.race.core;
+
+import io.github.asinrus.race.core.domain.result.SoakSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.asinrus.race.core.RaceTestSuitRegistry.soak;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SoakTestSuitTest {
+
+    @Test
+    void testSnapshots() {
+        var calls = new AtomicLong();
+        var seen = new ArrayList<SoakSnapshot>();
+        soak(() -> {
+            if (calls.incrementAndGet() % 10 == 0) {
+                throw new IllegalStateException("every tenth call fails");
+            }
+            Thread.sleep(1);
+            return 1;
+        })
+                .withConfiguration(Configuration.builder().setNumThreads(4).build())
+                .forDuration(Duration.ofMillis(500))
+                .withSnapshotInterval(Duration.ofMillis(100))
+                .withSnapshotAssertion(seen::add)
+                .withAssertion(result -> {
+                    List<SoakSnapshot> snapshots = result.snapshots();
+                    assertEquals(seen, snapshots);
+                    assertEquals(5, snapshots.size());
+                    for (int i = 0; i < snapshots.size(); i++) {
+                        assertEquals(i, snapshots.get(i).interval());
+                    }
+                    assertEquals(calls.get(), result.operations());
+                    assertEquals(calls.get(), snapshots.stream().mapToLong(SoakSnapshot::operations).sum());
+                    assertEquals(calls.get() / 10, result.errors());
+                    assertEquals(result.operations() - result.errors(), result.latency().count());
+                    assertEquals(10, result.errorSamples().size());
+                    assertTrue(snapshots.get(1).operationsPerSecond() > 0);
+                    assertTrue(snapshots.get(1).p50() >= Duration.ofMillis(1).toNanos());
+                })
+                .go();
+    }
+
+    @Test
+    void testFailedSnapshotStopsRacers() throws InterruptedException {
+        var calls = new AtomicLong();
+        long startNanos = System.nanoTime();
+        assertThrows(AssertionError.class, () -> soak(calls::incrementAndGet)
+                .forDuration(Duration.ofSeconds(30))
+                .withSnapshotInterval(Duration.ofMillis(50))
+                .withSnapshotAssertion(snapshot -> assertTrue(snapshot.interval() < 2))
+                .go());
+
+        assertTrue(System.nanoTime() - startNanos < Duration.ofSeconds(5).toNanos());
+        long stoppedCalls = calls.get();
+        Thread.sleep(50);
+        assertEquals(stoppedCalls, calls.get());
+    }
+
+    @Test
+    void testRacerPausedAcrossPublishIsNotMixedIntoLaterInterval() {
+        var recorder = new SoakTestSuit.IntervalRecorder(0);
+        assertTrue(recorder.record(0, 1_000, false));
+
+        // the racer has picked interval 0 and is paused until the snapshot of interval 0 is taken
+        SoakSnapshot first = recorder.publish(0, 0, 100);
+        assertFalse(recorder.record(0, 1_000, true));
+        assertTrue(recorder.record(4, 2_000, false));
+        SoakSnapshot fifth = recorder.publish(4, 400, 100);
+
+        assertEquals(1, first.operations());
+        assertEquals(1, fifth.operations());
+        assertEquals(0, fifth.errors());
+        assertEquals(2_000, fifth.max());
+    }
+}